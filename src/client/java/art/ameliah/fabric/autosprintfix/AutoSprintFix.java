@@ -1,16 +1,28 @@
 // src/main/java/art/ameliah/fabric/autosprintfix/AutoSprintFix.java
 package art.ameliah.fabric.autosprintfix;
 
+import art.ameliah.fabric.autosprintfix.command.ConfigCommand;
 import art.ameliah.fabric.autosprintfix.command.FriendsCommand;
+import art.ameliah.fabric.autosprintfix.command.InputCommand;
+import art.ameliah.fabric.autosprintfix.command.ProfileCommand;
+import art.ameliah.fabric.autosprintfix.command.SchedulerCommand;
+import art.ameliah.fabric.autosprintfix.config.PersistenceService;
 import art.ameliah.fabric.autosprintfix.core.event.EventBus;
 import art.ameliah.fabric.autosprintfix.core.event.Listener;
 import art.ameliah.fabric.autosprintfix.core.event.events.KeyPressEvent;
+import art.ameliah.fabric.autosprintfix.core.event.events.RenderEvent;
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 import art.ameliah.fabric.autosprintfix.core.module.ModuleManager;
+import art.ameliah.fabric.autosprintfix.core.util.FriendsManager;
+import art.ameliah.fabric.autosprintfix.core.util.InputRecorder;
+import art.ameliah.fabric.autosprintfix.core.util.SchedulerScope;
 import art.ameliah.fabric.autosprintfix.gui.GuiSettings;
 import art.ameliah.fabric.autosprintfix.gui.ModuleScreen;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.rendering.v1.hud.HudElementRegistry;
 import net.minecraft.client.Minecraft;
+import net.minecraft.resources.Identifier;
 import org.lwjgl.glfw.GLFW;
 
 /**
@@ -58,19 +70,39 @@ public class AutoSprintFix implements ClientModInitializer {
 		// Get Minecraft instance
 		mc = Minecraft.getInstance();
 
-		// Initialize GUI settings (loads from file)
+		// Initialize GUI settings and friends list (load from file)
 		GuiSettings.getInstance();
+		FriendsManager.load();
+
+		// Write the input recording, pending config changes and queued log records before the client exits
+		ClientLifecycleEvents.CLIENT_STOPPING.register(client -> {
+			InputRecorder.stop();
+			PersistenceService.getInstance().flush();
+			logger.close();
+		});
+
+		// Cancel scoped tasks on disconnect and world change
+		SchedulerScope.register();
 
 		// Initialize event bus
 		eventBus = EventBus.getInstance();
 		eventBus.register(this);
 
+		// Dispatch HUD rendering to modules
+		HudElementRegistry.addLast(Identifier.fromNamespaceAndPath("autosprintfix", "hud"),
+				(graphics, deltaTracker) -> eventBus
+						.post(new RenderEvent(graphics, deltaTracker.getGameTimeDeltaPartialTick(false))));
+
 		// Initialize module manager
 		moduleManager = ModuleManager.getInstance();
 		moduleManager.initialize();
 
 		// Register commands
 		FriendsCommand.register();
+		ConfigCommand.register();
+		ProfileCommand.register();
+		SchedulerCommand.register();
+		InputCommand.register();
 
 		logger.info("AutoSprintFix initialized successfully!");
 	}
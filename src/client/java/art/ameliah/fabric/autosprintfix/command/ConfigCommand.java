@@ -0,0 +1,59 @@
+package art.ameliah.fabric.autosprintfix.command;
+
+import art.ameliah.fabric.autosprintfix.config.ConfigManager;
+import art.ameliah.fabric.autosprintfix.gui.GuiSettings;
+
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.minecraft.network.chat.Component;
+
+import java.io.File;
+
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommandManager.*;
+
+/**
+ * Exports and imports the config as human-readable JSON
+ * (config/AutoSprintFix/export/).
+ */
+public class ConfigCommand {
+        @SuppressWarnings("null")
+        public static void register() {
+                ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> {
+                        dispatcher.register(literal("asfconfig")
+                                        .then(literal("export")
+                                                        .executes(ctx -> {
+                                                                File dir = getExportDir();
+
+                                                                // Written in the background; feedback once both files are done
+                                                                ConfigManager.getInstance().exportJson(new File(dir, "modules.json"),
+                                                                                modules -> GuiSettings.getInstance().exportJson(
+                                                                                                new File(dir, "gui.json"),
+                                                                                                gui -> ctx.getSource().sendFeedback(Component.literal(
+                                                                                                                modules && gui
+                                                                                                                                ? "§aExported config to §f"
+                                                                                                                                                + dir.getPath()
+                                                                                                                                : "§cFailed to export config, see log"))));
+                                                                return 1;
+                                                        }))
+
+                                        .then(literal("import")
+                                                        .executes(ctx -> {
+                                                                File dir = getExportDir();
+
+                                                                boolean modules = ConfigManager.getInstance()
+                                                                                .importJson(new File(dir, "modules.json"));
+                                                                boolean gui = GuiSettings.getInstance()
+                                                                                .importJson(new File(dir, "gui.json"));
+
+                                                                ctx.getSource().sendFeedback(Component.literal(
+                                                                                modules || gui
+                                                                                                ? "§aImported config from §f" + dir.getPath()
+                                                                                                : "§cNo config to import in §f" + dir.getPath()));
+                                                                return 1;
+                                                        })));
+                });
+        }
+
+        private static File getExportDir() {
+                return new File(ConfigManager.getInstance().getConfigDir(), "export");
+        }
+}
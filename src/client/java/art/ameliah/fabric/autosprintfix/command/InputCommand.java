@@ -0,0 +1,101 @@
+package art.ameliah.fabric.autosprintfix.command;
+
+import art.ameliah.fabric.autosprintfix.config.ConfigManager;
+import art.ameliah.fabric.autosprintfix.core.util.InputRecorder;
+import art.ameliah.fabric.autosprintfix.core.util.InputReplayer;
+
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import net.minecraft.network.chat.Component;
+
+import java.io.File;
+
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommandManager.*;
+
+/**
+ * Records and replays synthesized input timelines.
+ */
+public class InputCommand {
+        @SuppressWarnings("null")
+        public static void register() {
+                ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> {
+                        dispatcher.register(literal("asfinput")
+                                        .then(literal("record")
+                                                        .then(argument("name", StringArgumentType.word())
+                                                                        .executes(ctx -> {
+                                                                                String name = StringArgumentType
+                                                                                                .getString(ctx, "name");
+                                                                                boolean started = InputRecorder
+                                                                                                .start(getRecordingFile(name));
+
+                                                                                ctx.getSource().sendFeedback(
+                                                                                                Component.literal(started
+                                                                                                                ? "§aRecording input: " + name
+                                                                                                                : "§cCould not start recording: "
+                                                                                                                                + name));
+                                                                                return 1;
+                                                                        })))
+
+                                        .then(literal("replay")
+                                                        .then(argument("name", StringArgumentType.word())
+                                                                        .executes(ctx -> {
+                                                                                String name = StringArgumentType
+                                                                                                .getString(ctx, "name");
+                                                                                InputReplayer.start(getRecordingFile(name), records -> ctx
+                                                                                                .getSource().sendFeedback(
+                                                                                                                Component.literal(records >= 0
+                                                                                                                                ? "§aReplaying input: " + name
+                                                                                                                                                + " §7(" + records
+                                                                                                                                                + " records)"
+                                                                                                                                : "§cCould not replay: " + name)));
+                                                                                return 1;
+                                                                        })))
+
+                                        .then(literal("stop")
+                                                        .executes(ctx -> {
+                                                                long kept = InputRecorder.stop();
+                                                                boolean replaying = InputReplayer.isReplaying();
+                                                                InputReplayer.stop();
+
+                                                                if (kept >= 0) {
+                                                                        ctx.getSource().sendFeedback(Component.literal(
+                                                                                        "§aRecording stopped §7(" + kept + " records)"));
+                                                                } else if (replaying) {
+                                                                        ctx.getSource().sendFeedback(
+                                                                                        Component.literal("§aReplay stopped."));
+                                                                } else {
+                                                                        ctx.getSource().sendFeedback(
+                                                                                        Component.literal("§7Nothing to stop."));
+                                                                }
+                                                                return 1;
+                                                        }))
+
+                                        .then(literal("status")
+                                                        .executes(ctx -> {
+                                                                String status;
+                                                                if (InputRecorder.isRecording()) {
+                                                                        status = "§aRecording §7(" + InputRecorder.getWritten()
+                                                                                        + " records written)";
+                                                                } else if (InputReplayer.isReplaying()) {
+                                                                        status = "§aReplaying §7(" + InputReplayer.getPosition()
+                                                                                        + "/" + InputReplayer.getSize() + ")";
+                                                                } else {
+                                                                        status = "§7Idle";
+                                                                }
+
+                                                                ctx.getSource().sendFeedback(Component.literal(status));
+                                                                return 1;
+                                                        })));
+                });
+        }
+
+        /**
+         * Gets the file of a named recording.
+         *
+         * @param name The recording name
+         * @return The recording file
+         */
+        private static File getRecordingFile(String name) {
+                return new File(new File(ConfigManager.getInstance().getConfigDir(), "recordings"), name + ".bin");
+        }
+}
@@ -0,0 +1,165 @@
+package art.ameliah.fabric.autosprintfix.command;
+
+import art.ameliah.fabric.autosprintfix.config.ProfileManager;
+
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import net.minecraft.network.chat.Component;
+import org.lwjgl.glfw.GLFW;
+
+import java.util.Locale;
+
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommandManager.*;
+
+/**
+ * Saves, switches and binds named config profiles.
+ */
+public class ProfileCommand {
+        @SuppressWarnings("null")
+        public static void register() {
+                ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> {
+                        dispatcher.register(literal("asfprofile")
+                                        .then(literal("save")
+                                                        .then(argument("name", StringArgumentType.word())
+                                                                        .executes(ctx -> {
+                                                                                String name = StringArgumentType
+                                                                                                .getString(ctx, "name");
+                                                                                ProfileManager.getInstance()
+                                                                                                .saveProfile(name);
+
+                                                                                ctx.getSource().sendFeedback(
+                                                                                                Component.literal("§aSaved profile: "
+                                                                                                                + name));
+                                                                                return 1;
+                                                                        })))
+
+                                        .then(literal("load")
+                                                        .then(argument("name", StringArgumentType.word())
+                                                                        .executes(ctx -> {
+                                                                                String name = StringArgumentType
+                                                                                                .getString(ctx, "name");
+                                                                                int changes = ProfileManager
+                                                                                                .getInstance()
+                                                                                                .switchTo(name);
+
+                                                                                ctx.getSource().sendFeedback(
+                                                                                                Component.literal(
+                                                                                                                changes >= 0
+                                                                                                                                ? "§aLoaded profile: "
+                                                                                                                                                + name
+                                                                                                                                                + " §7("
+                                                                                                                                                + changes
+                                                                                                                                                + " change(s))"
+                                                                                                                                : "§cUnknown profile: "
+                                                                                                                                                + name));
+                                                                                return 1;
+                                                                        })))
+
+                                        .then(literal("delete")
+                                                        .then(argument("name", StringArgumentType.word())
+                                                                        .executes(ctx -> {
+                                                                                String name = StringArgumentType
+                                                                                                .getString(ctx, "name");
+                                                                                boolean deleted = ProfileManager
+                                                                                                .getInstance()
+                                                                                                .deleteProfile(name);
+
+                                                                                ctx.getSource().sendFeedback(
+                                                                                                Component.literal(
+                                                                                                                deleted
+                                                                                                                                ? "§aDeleted profile: "
+                                                                                                                                                + name
+                                                                                                                                : "§cUnknown profile: "
+                                                                                                                                                + name));
+                                                                                return 1;
+                                                                        })))
+
+                                        .then(literal("bind")
+                                                        .then(argument("name", StringArgumentType.word())
+                                                                        .then(argument("key", StringArgumentType.word())
+                                                                                        .executes(ctx -> {
+                                                                                                String name = StringArgumentType
+                                                                                                                .getString(ctx, "name");
+                                                                                                String key = StringArgumentType
+                                                                                                                .getString(ctx, "key");
+                                                                                                Integer keyCode = parseKey(key);
+
+                                                                                                if (keyCode == null) {
+                                                                                                        ctx.getSource().sendFeedback(
+                                                                                                                        Component.literal("§cUnknown key: "
+                                                                                                                                        + key));
+                                                                                                        return 1;
+                                                                                                }
+
+                                                                                                boolean bound = ProfileManager
+                                                                                                                .getInstance()
+                                                                                                                .setHotkey(name, keyCode);
+
+                                                                                                ctx.getSource().sendFeedback(
+                                                                                                                Component.literal(
+                                                                                                                                bound
+                                                                                                                                                ? "§aBound profile "
+                                                                                                                                                                + name
+                                                                                                                                                                + " to §f"
+                                                                                                                                                                + key.toUpperCase(Locale.ROOT)
+                                                                                                                                                : "§cUnknown profile: "
+                                                                                                                                                                + name));
+                                                                                                return 1;
+                                                                                        }))))
+
+                                        .then(literal("list")
+                                                        .executes(ctx -> {
+                                                                ProfileManager profiles = ProfileManager.getInstance();
+                                                                var names = profiles.getProfileNames();
+                                                                String active = profiles.getActiveName();
+
+                                                                ctx.getSource().sendFeedback(
+                                                                                Component.literal(
+                                                                                                names.isEmpty()
+                                                                                                                ? "§7No profiles saved."
+                                                                                                                : "§aProfiles (§f"
+                                                                                                                                + names.size()
+                                                                                                                                + "§a): §f"
+                                                                                                                                + String.join(", ",
+                                                                                                                                                names)
+                                                                                                                                + (active != null
+                                                                                                                                                ? " §7(active: "
+                                                                                                                                                                + active
+                                                                                                                                                                + ")"
+                                                                                                                                                : "")));
+                                                                return 1;
+                                                        })));
+                });
+        }
+
+        /**
+         * Parses a key name (a letter, a digit, F1-F25 or "none").
+         *
+         * @param key The key name
+         * @return The GLFW key code, -1 for none, or null if unknown
+         */
+        private static Integer parseKey(String key) {
+                String name = key.toUpperCase(Locale.ROOT);
+
+                if (name.equals("NONE")) {
+                        return -1;
+                }
+
+                if (name.length() == 1 && Character.isLetterOrDigit(name.charAt(0))) {
+                        // GLFW letter and digit codes match their ASCII values
+                        return (int) name.charAt(0);
+                }
+
+                if (name.startsWith("F") && name.length() > 1) {
+                        try {
+                                int number = Integer.parseInt(name.substring(1));
+                                if (number >= 1 && number <= 25) {
+                                        return GLFW.GLFW_KEY_F1 + number - 1;
+                                }
+                        } catch (NumberFormatException ignored) {
+                        }
+                }
+
+                return null;
+        }
+}
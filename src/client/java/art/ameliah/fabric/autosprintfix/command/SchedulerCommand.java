@@ -0,0 +1,90 @@
+package art.ameliah.fabric.autosprintfix.command;
+
+import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil;
+import art.ameliah.fabric.autosprintfix.core.util.SchedulerStats;
+
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.network.chat.Component;
+
+import java.util.Map;
+
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommandManager.*;
+
+/**
+ * Shows scheduler backlog, lateness and task execution times.
+ */
+public class SchedulerCommand {
+        @SuppressWarnings("null")
+        public static void register() {
+                ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> {
+                        dispatcher.register(literal("asfscheduler")
+                                        .executes(ctx -> {
+                                                sendStats(ctx.getSource());
+                                                return 1;
+                                        })
+
+                                        .then(literal("reset")
+                                                        .executes(ctx -> {
+                                                                AsyncUtil.getStats().reset();
+
+                                                                ctx.getSource().sendFeedback(
+                                                                                Component.literal("§aScheduler statistics reset."));
+                                                                return 1;
+                                                        })));
+                });
+        }
+
+        /**
+         * Sends the current scheduler statistics to the command source.
+         *
+         * @param source The command source
+         */
+        @SuppressWarnings("null")
+        private static void sendStats(FabricClientCommandSource source) {
+                SchedulerStats stats = AsyncUtil.getStats();
+                long oldest = AsyncUtil.getOldestPendingAge();
+
+                source.sendFeedback(Component.literal("§aScheduler §7(last "
+                                + stats.getWindowNanos() / 1_000_000_000L + "s)"));
+
+                // Backlog
+                source.sendFeedback(Component.literal("§7Pending: §f" + AsyncUtil.getPendingCount()
+                                + (oldest >= 0 ? " §7(oldest " + SchedulerStats.formatDuration(oldest) + ")" : "")));
+                for (Map.Entry<String, Integer> entry : AsyncUtil.getPendingByOwner().entrySet()) {
+                        source.sendFeedback(Component.literal("§7  " + entry.getKey() + ": §f" + entry.getValue()));
+                }
+
+                // Lateness
+                SchedulerStats.Histogram ticks = stats.getTickLateness();
+                source.sendFeedback(Component.literal("§7Tick lateness: §f"
+                                + describe(ticks)
+                                + " §7| late ticks: §f" + stats.getLateTickTasks()
+                                + " §7(max " + stats.getMaxLateTicks() + ")"));
+                source.sendFeedback(Component.literal("§7Deadline lateness: §f"
+                                + describe(stats.getDeadlineLateness())));
+
+                // Execution times
+                for (Map.Entry<String, SchedulerStats.Histogram> entry : stats.getExecutionTimes().entrySet()) {
+                        source.sendFeedback(Component.literal("§7  run " + entry.getKey() + ": §f"
+                                        + describe(entry.getValue())));
+                }
+        }
+
+        /**
+         * Describes a histogram as count, median, 99th percentile and maximum.
+         *
+         * @param histogram The histogram
+         * @return The description
+         */
+        private static String describe(SchedulerStats.Histogram histogram) {
+                if (histogram.getCount() == 0) {
+                        return "-";
+                }
+
+                return histogram.getCount() + "x"
+                                + " p50 " + SchedulerStats.formatDuration(histogram.getPercentile(50))
+                                + " p99 " + SchedulerStats.formatDuration(histogram.getPercentile(99))
+                                + " max " + SchedulerStats.formatDuration(histogram.getMax());
+        }
+}
@@ -0,0 +1,251 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Decoder for the binary config snapshot format written by
+ * {@link BinaryConfigWriter}.
+ *
+ * The header and string table are read on construction; the remaining
+ * buffer is the body. Files are read into the heap rather than mapped,
+ * so no mapping can keep the file locked while the writer thread
+ * replaces it.
+ */
+public class BinaryConfigReader {
+
+    // Snapshot contents
+    private final ByteBuffer buffer;
+
+    // Interned names
+    private final String[] symbols;
+
+    // Format version of the snapshot
+    private final int version;
+
+    /**
+     * Creates a reader over an encoded snapshot.
+     *
+     * @param buffer The snapshot contents
+     * @throws IOException If the header or string table is invalid
+     */
+    public BinaryConfigReader(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+
+        try {
+            if (buffer.getInt() != BinaryConfigWriter.MAGIC) {
+                throw new IOException("Not a binary config snapshot");
+            }
+
+            this.version = readVarInt();
+            if (version > BinaryConfigWriter.VERSION) {
+                throw new IOException("Unsupported config snapshot version " + version);
+            }
+
+            int count = readVarInt();
+            if (count > buffer.remaining()) {
+                throw new IOException("Corrupt config string table");
+            }
+
+            this.symbols = new String[count];
+            for (int i = 0; i < count; i++) {
+                symbols[i] = readString();
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated config snapshot", e);
+        }
+    }
+
+    /**
+     * Opens a snapshot file.
+     *
+     * @param path The snapshot file
+     * @return A reader positioned at the body
+     * @throws IOException If the file cannot be read or is invalid
+     */
+    public static BinaryConfigReader open(Path path) throws IOException {
+        return new BinaryConfigReader(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    /**
+     * Gets the format version of the snapshot.
+     *
+     * @return The version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Reads a name from the string table.
+     *
+     * @return The name
+     * @throws IOException If the index is invalid
+     */
+    public String readSymbol() throws IOException {
+        int id = readVarInt();
+        if (id < 0 || id >= symbols.length) {
+            throw new IOException("Invalid config symbol " + id);
+        }
+        return symbols[id];
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @return The value
+     * @throws IOException If the varint is malformed
+     */
+    public int readVarInt() throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint in config snapshot");
+    }
+
+    /**
+     * Reads a zigzag-encoded signed int.
+     *
+     * @return The value
+     * @throws IOException If the varint is malformed
+     */
+    public int readZigZag() throws IOException {
+        int raw = readVarInt();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Reads a boolean byte.
+     *
+     * @return The value
+     * @throws IOException If the snapshot is truncated
+     */
+    public boolean readBoolean() throws IOException {
+        return get() != 0;
+    }
+
+    /**
+     * Reads a big-endian double.
+     *
+     * @return The value
+     * @throws IOException If the snapshot is truncated
+     */
+    public double readDouble() throws IOException {
+        try {
+            return buffer.getDouble();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated config snapshot", e);
+        }
+    }
+
+    /**
+     * Reads a string (varint length + UTF-8 bytes).
+     *
+     * @return The value
+     * @throws IOException If the snapshot is truncated
+     */
+    public String readString() throws IOException {
+        int length = readVarInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Truncated config snapshot");
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Peeks at the tag of the next value without consuming it.
+     *
+     * @return The value tag
+     * @throws IOException If the snapshot is truncated
+     */
+    public int peekTag() throws IOException {
+        if (!buffer.hasRemaining()) {
+            throw new IOException("Truncated config snapshot");
+        }
+        return buffer.get(buffer.position());
+    }
+
+    /**
+     * Consumes the tag of the next value.
+     *
+     * @return The value tag
+     * @throws IOException If the snapshot is truncated
+     */
+    public int readTag() throws IOException {
+        return get();
+    }
+
+    /**
+     * Reads a tagged value in the string form used by {@code Setting.serialize()}.
+     *
+     * @return The serialized value
+     * @throws IOException If the tag is unknown
+     */
+    public String readValueString() throws IOException {
+        int tag = readTag();
+
+        return switch (tag) {
+            case BinaryConfigWriter.TAG_BOOLEAN -> String.valueOf(readBoolean());
+            case BinaryConfigWriter.TAG_INT -> String.valueOf(readZigZag());
+            case BinaryConfigWriter.TAG_DOUBLE -> String.valueOf(readDouble());
+            case BinaryConfigWriter.TAG_STRING -> readString();
+            case BinaryConfigWriter.TAG_RANGE -> {
+                double min = readDouble();
+                double max = readDouble();
+                yield min + "," + max;
+            }
+            default -> throw new IOException("Unknown config value tag " + tag);
+        };
+    }
+
+    /**
+     * Skips the payload of a value whose tag was already read.
+     *
+     * @param tag The value tag
+     * @throws IOException If the tag is unknown
+     */
+    public void skipValue(int tag) throws IOException {
+        switch (tag) {
+            case BinaryConfigWriter.TAG_BOOLEAN -> get();
+            case BinaryConfigWriter.TAG_INT -> readVarInt();
+            case BinaryConfigWriter.TAG_DOUBLE -> readDouble();
+            case BinaryConfigWriter.TAG_STRING -> readString();
+            case BinaryConfigWriter.TAG_RANGE -> {
+                readDouble();
+                readDouble();
+            }
+            default -> throw new IOException("Unknown config value tag " + tag);
+        }
+    }
+
+    /**
+     * Skips a complete tagged value.
+     *
+     * @throws IOException If the tag is unknown
+     */
+    public void skipValue() throws IOException {
+        skipValue(readTag());
+    }
+
+    private byte get() throws IOException {
+        try {
+            return buffer.get();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated config snapshot", e);
+        }
+    }
+}
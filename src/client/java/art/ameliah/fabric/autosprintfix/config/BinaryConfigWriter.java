@@ -0,0 +1,191 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encoder for the binary config snapshot format.
+ *
+ * Layout:
+ * - header: magic ({@link #MAGIC}) as 4 bytes, format version as varint
+ * - string table: varint count, then each string (varint length + UTF-8)
+ * - body: written by the caller; names refer to the table by varint index
+ *
+ * Integers are written as varints (zigzag for signed values), doubles as
+ * 8 big-endian bytes. Setting values are tagged so unknown or renamed
+ * settings can be skipped without knowing their type.
+ */
+public class BinaryConfigWriter {
+
+    // File magic ("ASFB")
+    public static final int MAGIC = 0x41534642;
+
+    // Current format version
+    public static final int VERSION = 1;
+
+    // Value tags
+    public static final int TAG_BOOLEAN = 1;
+    public static final int TAG_INT = 2;
+    public static final int TAG_DOUBLE = 3;
+    public static final int TAG_STRING = 4;
+    public static final int TAG_RANGE = 5;
+
+    // Interned names in first-use order
+    private final Map<String, Integer> symbols = new LinkedHashMap<>();
+
+    // Encoded body
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+    /**
+     * Writes a name as an index into the string table.
+     *
+     * @param name The name to intern
+     */
+    public void writeSymbol(String name) {
+        Integer id = symbols.get(name);
+        if (id == null) {
+            id = symbols.size();
+            symbols.put(name, id);
+        }
+        writeVarInt(body, id);
+    }
+
+    /**
+     * Writes an unsigned varint.
+     *
+     * @param value The value (treated as unsigned)
+     */
+    public void writeVarInt(int value) {
+        writeVarInt(body, value);
+    }
+
+    /**
+     * Writes a signed int as a zigzag varint.
+     *
+     * @param value The value
+     */
+    public void writeZigZag(int value) {
+        writeVarInt(body, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Writes a boolean as a single byte.
+     *
+     * @param value The value
+     */
+    public void writeBoolean(boolean value) {
+        body.write(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a double as 8 big-endian bytes.
+     *
+     * @param value The value
+     */
+    public void writeDouble(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            body.write((int) (bits >>> shift));
+        }
+    }
+
+    /**
+     * Writes a string (varint length + UTF-8 bytes).
+     *
+     * @param value The value
+     */
+    public void writeString(String value) {
+        writeString(body, value);
+    }
+
+    /**
+     * Writes a tagged boolean value.
+     *
+     * @param value The value
+     */
+    public void writeValue(boolean value) {
+        body.write(TAG_BOOLEAN);
+        writeBoolean(value);
+    }
+
+    /**
+     * Writes a tagged int value.
+     *
+     * @param value The value
+     */
+    public void writeValue(int value) {
+        body.write(TAG_INT);
+        writeZigZag(value);
+    }
+
+    /**
+     * Writes a tagged double value.
+     *
+     * @param value The value
+     */
+    public void writeValue(double value) {
+        body.write(TAG_DOUBLE);
+        writeDouble(value);
+    }
+
+    /**
+     * Writes a tagged string value.
+     *
+     * @param value The value
+     */
+    public void writeValue(String value) {
+        body.write(TAG_STRING);
+        writeString(value);
+    }
+
+    /**
+     * Writes a tagged range value.
+     *
+     * @param min The range minimum
+     * @param max The range maximum
+     */
+    public void writeRange(double min, double max) {
+        body.write(TAG_RANGE);
+        writeDouble(min);
+        writeDouble(max);
+    }
+
+    /**
+     * Assembles header, string table and body.
+     *
+     * @return The encoded snapshot
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() + 16 * symbols.size() + 8);
+
+        out.write(MAGIC >>> 24);
+        out.write(MAGIC >>> 16);
+        out.write(MAGIC >>> 8);
+        out.write(MAGIC);
+        writeVarInt(out, VERSION);
+
+        writeVarInt(out, symbols.size());
+        for (String symbol : symbols.keySet()) {
+            writeString(out, symbol);
+        }
+
+        out.writeBytes(body.toByteArray());
+        return out.toByteArray();
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+}
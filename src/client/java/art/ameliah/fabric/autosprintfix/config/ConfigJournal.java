@@ -0,0 +1,204 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only journal of module configuration changes.
+ *
+ * Every change is written as a single JSON line describing one module
+ * property (enabled state, keybind or a setting value). Records are
+ * idempotent, so replaying a journal on top of an older snapshot always
+ * yields the latest state. Records are encoded by {@link ModuleConfigCodec};
+ * a partially written last line (e.g. after a crash) is skipped during replay.
+ *
+ * Appends and compaction file operations only queue a task on the
+ * {@link PersistenceService} writer thread, which runs them in submission
+ * order, so the game thread never touches the journal files after load.
+ */
+public class ConfigJournal {
+
+    // Active journal file
+    private final File journalFile;
+
+    // Journal detached for compaction (replayed if a compaction was interrupted)
+    private final File compactingFile;
+
+    // Writer thread the file operations run on
+    private final PersistenceService persistence;
+
+    // Logger reference
+    private final ModLogger logger;
+
+    // Open writer for the active journal (writer thread only, null until the first append)
+    private BufferedWriter writer;
+
+    // Number of records in the active journal, including queued ones
+    private int recordCount;
+
+    /**
+     * Creates a journal in the given directory.
+     *
+     * @param persistence The persistence service whose writer thread writes the journal
+     * @param configDir   The config directory
+     * @param name        Base file name of the journal
+     */
+    public ConfigJournal(PersistenceService persistence, File configDir, String name) {
+        this.persistence = persistence;
+        this.journalFile = new File(configDir, name);
+        this.compactingFile = new File(configDir, name + ".compacting");
+        this.logger = ModLogger.getInstance();
+    }
+
+    /**
+     * Queues a record to be appended to the journal and flushed to disk.
+     *
+     * @param record The encoded single-line change record
+     */
+    public synchronized void append(String record) {
+        recordCount++;
+        persistence.submit(() -> write(record));
+    }
+
+    /**
+     * Gets the number of records written to the active journal.
+     *
+     * @return The record count
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Reads every record from the journal, including a journal left over from
+     * an interrupted compaction. Called on load, before anything is appended.
+     *
+     * @return The encoded records in write order
+     */
+    public synchronized List<String> readAll() {
+        List<String> records = new ArrayList<>();
+
+        readFile(compactingFile, records);
+        int active = readFile(journalFile, records);
+
+        recordCount = active;
+        return records;
+    }
+
+    /**
+     * Queues detaching the active journal so a snapshot can be written.
+     * Records queued before this call stay in the detached journal, later
+     * records go to a fresh journal. The detached one is kept until
+     * {@link #finishCompaction()} is called.
+     */
+    public synchronized void beginCompaction() {
+        recordCount = 0;
+        persistence.submit(this::detach);
+    }
+
+    /**
+     * Queues discarding the detached journal once its records are part of
+     * a snapshot.
+     */
+    public void finishCompaction() {
+        persistence.submit(this::discardDetached);
+    }
+
+    /**
+     * Queues closing the journal writer.
+     */
+    public void close() {
+        persistence.submit(this::closeWriter);
+    }
+
+    /**
+     * Discards the detached journal. Must run on the writer thread, e.g.
+     * from {@link PersistentStore#onWritten(boolean)}.
+     */
+    void discardDetached() {
+        try {
+            Files.deleteIfExists(compactingFile.toPath());
+        } catch (IOException e) {
+            logger.error("Failed to truncate config journal", e);
+        }
+    }
+
+    private void write(String record) {
+        try {
+            if (writer == null) {
+                writer = new BufferedWriter(new OutputStreamWriter(
+                        new FileOutputStream(journalFile, true), StandardCharsets.UTF_8));
+            }
+
+            writer.write(record);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.error("Failed to append to config journal", e);
+        }
+    }
+
+    private void detach() {
+        closeWriter();
+
+        try {
+            if (journalFile.exists()) {
+                if (compactingFile.exists()) {
+                    // A previous compaction never finished; keep both generations
+                    List<String> lines = new ArrayList<>(Files.readAllLines(compactingFile.toPath(), StandardCharsets.UTF_8));
+                    lines.addAll(Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8));
+                    Files.write(compactingFile.toPath(), lines, StandardCharsets.UTF_8);
+                    Files.delete(journalFile.toPath());
+                } else {
+                    Files.move(journalFile.toPath(), compactingFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to detach config journal", e);
+        }
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.error("Failed to close config journal", e);
+            }
+            writer = null;
+        }
+    }
+
+    private int readFile(File file, List<String> records) {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        int count = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    records.add(line);
+                    count++;
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read config journal", e);
+        }
+
+        return count;
+    }
+}
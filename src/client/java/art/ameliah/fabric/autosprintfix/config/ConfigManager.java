@@ -5,65 +5,195 @@ import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 import art.ameliah.fabric.autosprintfix.core.module.Module;
 import art.ameliah.fabric.autosprintfix.core.module.ModuleManager;
 import art.ameliah.fabric.autosprintfix.core.module.settings.Setting;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
+import art.ameliah.fabric.autosprintfix.core.module.settings.SettingChangeBatch;
+import com.google.gson.stream.JsonReader;
+import net.minecraft.client.Minecraft;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Manages configuration loading and saving for the mod.
  * Stores module states, keybinds, and settings in JSON format.
  * All configs are saved to config/AutoSprintFix/ folder.
+ *
+ * The snapshot is stored in a compact binary format (modules.bin, see
+ * {@link ModuleBinaryCodec}). JSON (modules.json) is only used for
+ * import/export and to migrate configs written before the binary format.
+ *
+ * Changes are appended to a journal (modules.journal) instead of rewriting
+ * the whole snapshot; the appends run on the {@link PersistenceService}
+ * writer thread. The journal is periodically folded into a fresh
+ * snapshot, written in the background by the shared
+ * {@link PersistenceService}. On startup the snapshot is loaded and the
+ * journal replayed on top of it.
+ *
+ * Optionally the config can be sharded into one file per module under
+ * config/AutoSprintFix/modules/ (enabled with -Dautosprintfix.shardedConfig=true
+ * or {@link #setShardedLayout(boolean)}). In that layout only the changed
+ * module's file is written, and a module's settings are read on its first
+ * access or enable instead of at startup.
+ *
+ * All JSON (journal, shards, import/export) is streamed through
+ * {@link ModuleConfigCodec}.
+ *
+ * Config files changed by another program are picked up by
+ * {@link ConfigWatcher}: the new content is parsed off-thread into a
+ * {@link ConfigSnapshot} and only the values that differ are applied on
+ * the game thread, without journaling them.
  */
 public class ConfigManager {
 
+    // Journal size that triggers an immediate compaction
+    private static final int COMPACT_THRESHOLD = 256;
+
+    // Interval between periodic compaction checks (seconds)
+    private static final long COMPACT_INTERVAL_SECONDS = 60;
+
     // Singleton instance
     private static ConfigManager instance;
 
     // Config directory
     private final File configDir;
 
-    // Modules config file
+    // Binary modules snapshot
+    private final File binaryFile;
+
+    // JSON modules config (import/export and legacy snapshot)
     private final File modulesFile;
 
-    // Gson instance for JSON serialization
-    private final Gson gson;
+    // Change journal for the modules config
+    private final ConfigJournal journal;
+
+    // Per-module shard files (sharded layout)
+    private final ModuleShardStore shards;
+
+    // Shared persistence engine
+    private final PersistenceService persistence;
+
+    // Binary snapshot store (compacts the journal when written)
+    private final PersistentStore snapshotStore;
+
+    // Shard index store (sharded layout)
+    private final PersistentStore indexStore;
+
+    // Settings shard store per module (sharded layout)
+    private final Map<Module, PersistentStore> shardStores = new HashMap<>();
 
     // Logger reference
     private final ModLogger logger;
 
+    // True while the config is being applied (suppresses journal records)
+    private boolean loading = false;
+
+    // True while a compaction is queued or running
+    private volatile boolean compacting = false;
+
+    // Whether modules.json is retired once the migrated snapshot is written
+    private volatile boolean retireJsonOnWrite = false;
+
+    // Whether the sharded layout is active (read by the watcher thread)
+    private volatile boolean sharded;
+
+    // Whether the shard directory is being watched
+    private boolean shardsWatched = false;
+
     /**
      * Private constructor for singleton pattern.
      */
     private ConfigManager() {
-        // Get config directory: config/AutoSprintFix/
-        File gameDir = new File(System.getProperty("user.dir"));
-        File baseConfigDir = new File(gameDir, "config");
-        this.configDir = new File(baseConfigDir, "AutoSprintFix");
-
-        // Ensure config directory exists
-        if (!configDir.exists()) {
-            configDir.mkdirs();
-        }
+        this.persistence = PersistenceService.getInstance();
+        this.configDir = persistence.getConfigDir().toFile();
 
         // Create config file references
+        this.binaryFile = new File(configDir, "modules.bin");
         this.modulesFile = new File(configDir, "modules.json");
-
-        // Initialize Gson with pretty printing
-        this.gson = new GsonBuilder()
-                .setPrettyPrinting()
-                .create();
+        this.journal = new ConfigJournal(persistence, configDir, "modules.journal");
+        this.shards = new ModuleShardStore(configDir);
+        this.sharded = shards.exists();
 
         this.logger = ModLogger.getInstance();
+
+        this.snapshotStore = new PersistentStore() {
+            @Override
+            public Path getPath() {
+                return binaryFile.toPath();
+            }
+
+            @Override
+            public byte[] capture() {
+                // One compaction at a time; the journal generation must match the snapshot
+                if (sharded || compacting) {
+                    return null;
+                }
+
+                byte[] snapshot = createSnapshot();
+                if (snapshot == null) {
+                    return null;
+                }
+
+                compacting = true;
+                journal.beginCompaction();
+                return snapshot;
+            }
+
+            @Override
+            public void onWritten(boolean success) {
+                if (success) {
+                    // Already on the writer thread, after the detach queued by capture()
+                    journal.discardDetached();
+                    logger.debug("Module configuration saved successfully");
+
+                    if (retireJsonOnWrite) {
+                        retireJsonOnWrite = false;
+                        backUpJson();
+                    }
+                }
+                compacting = false;
+            }
+        };
+
+        this.indexStore = new PersistentStore() {
+            @Override
+            public Path getPath() {
+                return shards.getIndexFile().toPath();
+            }
+
+            @Override
+            public byte[] capture() throws IOException {
+                return ModuleConfigCodec.writeIndex(ModuleManager.getInstance().getModules())
+                        .getBytes(StandardCharsets.UTF_8);
+            }
+        };
+
+        persistence.register(snapshotStore);
+        persistence.register(indexStore);
+
+        // Periodically fold the journal into the snapshot
+        persistence.scheduleAtFixedRate(() -> {
+            if (journal.getRecordCount() > 0) {
+                compactAsync();
+            }
+        }, COMPACT_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
 
     /**
      * Gets the singleton instance.
-     * 
+     *
      * @return The ConfigManager instance
      */
     public static ConfigManager getInstance() {
@@ -75,7 +205,7 @@ public class ConfigManager {
 
     /**
      * Gets the config directory.
-     * 
+     *
      * @return The config directory
      */
     public File getConfigDir() {
@@ -87,128 +217,597 @@ public class ConfigManager {
      * Should be called after modules are registered.
      */
     public void load() {
-        if (!modulesFile.exists()) {
-            logger.info("Module config file not found, using defaults");
+        // modules.json is only an import/migration source, never the live store
+        ConfigWatcher.getInstance().watch(configDir.toPath(),
+                name -> name.equals(binaryFile.getName()),
+                this::onFileChanged);
+
+        if (sharded) {
+            watchShards();
+            loadSharded();
             return;
         }
 
-        try (FileReader reader = new FileReader(modulesFile)) {
-            @SuppressWarnings("null")
-            JsonObject json = gson.fromJson(reader, JsonObject.class);
-
-            // Gson can return null for empty/invalid JSON
-            if (json == null || json.isEmpty() || json.isJsonNull()) {
-                logger.warn("GUI settings file is empty or invalid");
-                return;
+        ModuleConfigCodec.ModuleStates states = new ModuleConfigCodec.ModuleStates();
+        List<String> records = journal.readAll();
+        boolean migrate = false;
+
+        // Parsed detached first, so a damaged file leaves the live settings untouched
+        byte[] binary = binaryFile.exists() ? readDetached(binaryFile, true) : null;
+        byte[] json = binary == null && !binaryFile.exists() && modulesFile.exists()
+                ? readDetached(modulesFile, false)
+                : null;
+
+        loading = true;
+        try {
+            if (binary != null) {
+                ModuleBinaryCodec.readSnapshot(new BinaryConfigReader(ByteBuffer.wrap(binary)), states);
+                logger.debug("Read binary module snapshot");
+            } else if (binaryFile.exists()) {
+                // Never fall back to a pre-migration modules.json: it would revert the config
+                logger.error("Module snapshot is damaged, using defaults");
+            } else if (json != null) {
+                // Config written before the binary format
+                ModuleConfigCodec.readModules(jsonReader(json), states);
+                migrate = true;
+            } else {
+                logger.info("Module config file not found, using defaults");
             }
 
-            // Load module configurations
-            if (json.has("modules")) {
-                JsonObject modulesJson = json.getAsJsonObject("modules");
-
-                for (Module module : ModuleManager.getInstance().getModules()) {
-                    if (modulesJson.has(module.getName())) {
-                        JsonObject moduleJson = modulesJson.getAsJsonObject(module.getName());
-                        loadModuleConfig(module, moduleJson);
-                    }
+            // Replay the journal on top of the snapshot
+            for (String record : records) {
+                try (JsonReader reader = new JsonReader(new StringReader(record))) {
+                    ModuleConfigCodec.readRecord(reader, states);
+                } catch (Exception e) {
+                    logger.warn("Skipping malformed config journal record");
                 }
             }
 
-            logger.info("Module configuration loaded successfully");
+            notifyLoaded(ModuleManager.getInstance().getModules());
+            states.apply();
+
+            logger.info("Module configuration loaded successfully ({} journal record(s) replayed)", records.size());
+
+        } catch (Exception e) {
+            logger.error("Error applying module configuration", e);
+        } finally {
+            loading = false;
+        }
 
+        if (binary != null && modulesFile.exists()) {
+            // Left over from a migration that kept it
+            persistence.submit(this::backUpJson);
+        }
+
+        if (Boolean.getBoolean("autosprintfix.shardedConfig")) {
+            // Migrate to the sharded layout if requested
+            setShardedLayout(true);
+            if (migrate) {
+                persistence.submit(this::backUpJson);
+            }
+        } else if (!records.isEmpty() || migrate) {
+            // Start the session from a compact snapshot; modules.json is retired once it is written
+            retireJsonOnWrite = migrate;
+            compactAsync();
+        }
+    }
+
+    /**
+     * Reads a snapshot file and parses it into a detached snapshot to
+     * check it before anything is applied.
+     *
+     * @param file   The snapshot file
+     * @param binary Whether the file is a binary snapshot (otherwise JSON)
+     * @return The file content, or null if it cannot be read or parsed
+     */
+    private byte[] readDetached(File file, boolean binary) {
+        try {
+            byte[] content = Files.readAllBytes(file.toPath());
+
+            if (binary) {
+                ModuleBinaryCodec.readSnapshot(new BinaryConfigReader(ByteBuffer.wrap(content)));
+            } else {
+                ModuleConfigCodec.readSnapshot(jsonReader(content));
+            }
+            return content;
         } catch (IOException e) {
             logger.error("Failed to load module configuration", e);
         } catch (Exception e) {
             logger.error("Error parsing module configuration", e);
         }
+        return null;
     }
 
     /**
-     * Loads configuration for a single module.
+     * Renames modules.json to modules.json.bak once the binary snapshot
+     * holds the configuration. Runs on the writer thread.
      */
-    private void loadModuleConfig(Module module, JsonObject json) {
-        // Load enabled state
-        if (json.has("enabled")) {
-            boolean enabled = json.get("enabled").getAsBoolean();
-            if (enabled) {
-                module.setEnabled(true);
+    private void backUpJson() {
+        try {
+            Files.move(modulesFile.toPath(), modulesFile.toPath().resolveSibling("modules.json.bak"),
+                    StandardCopyOption.REPLACE_EXISTING);
+            logger.info("Retired modules.json after migrating to modules.bin");
+        } catch (NoSuchFileException e) {
+            // Already retired
+        } catch (IOException e) {
+            logger.warn("Failed to back up modules.json after migration");
+        }
+    }
+
+    /**
+     * Exports the module configuration as human-readable JSON.
+     * The file is written on the persistence writer thread.
+     *
+     * @param file   The file to write
+     * @param onDone Receives true if the export was written (game thread)
+     */
+    public void exportJson(File file, Consumer<Boolean> onDone) {
+        for (Module module : ModuleManager.getInstance().getModules()) {
+            module.ensureSettingsLoaded();
+        }
+
+        String json;
+        try {
+            json = ModuleConfigCodec.writeSnapshot(ModuleManager.getInstance().getModules());
+        } catch (IOException e) {
+            logger.error("Failed to export module configuration", e);
+            onDone.accept(false);
+            return;
+        }
+
+        persistence.writeAsync(file.toPath(), json.getBytes(StandardCharsets.UTF_8), success -> {
+            if (success) {
+                logger.info("Exported module configuration to {}", file.getName());
             }
+            onDone.accept(success);
+        });
+    }
+
+    /**
+     * Imports a JSON module configuration and saves it as the new snapshot.
+     * Modules and settings missing from the file keep their current values.
+     *
+     * @param file The file to read
+     * @return true if the file was imported
+     */
+    public boolean importJson(File file) {
+        if (!file.exists()) {
+            return false;
         }
 
-        // Load keybind
-        if (json.has("keybind")) {
-            int keybind = json.get("keybind").getAsInt();
-            module.setKeyBind(keybind);
+        // A malformed file is rejected before any value is applied
+        byte[] content = readDetached(file, false);
+        if (content == null) {
+            return false;
         }
 
-        // Load settings
-        if (json.has("settings")) {
-            JsonObject settingsJson = json.getAsJsonObject("settings");
+        // Lazy shard loads must not overwrite imported values later
+        for (Module module : ModuleManager.getInstance().getModules()) {
+            module.ensureSettingsLoaded();
+        }
 
-            for (Setting<?> setting : module.getSettings()) {
-                if (settingsJson.has(setting.getName())) {
-                    String serialized = settingsJson.get(setting.getName()).getAsString();
-                    setting.deserialize(serialized);
+        ModuleConfigCodec.ModuleStates states = new ModuleConfigCodec.ModuleStates();
+
+        loading = true;
+        try {
+            ModuleConfigCodec.readModules(jsonReader(content), states);
+            notifyLoaded(ModuleManager.getInstance().getModules());
+            states.apply();
+        } catch (Exception e) {
+            logger.error("Error applying module configuration", e);
+        } finally {
+            loading = false;
+        }
+
+        save();
+
+        logger.info("Imported module configuration from {}", file.getName());
+        return true;
+    }
+
+    /**
+     * Watches the shard directory for external changes.
+     */
+    private void watchShards() {
+        if (shardsWatched) {
+            return;
+        }
+
+        shardsWatched = true;
+        ConfigWatcher.getInstance().watch(shards.getShardDir().toPath(),
+                name -> name.endsWith(".json"), this::onFileChanged);
+    }
+
+    /**
+     * Parses an externally changed config file (watcher thread) and
+     * schedules the changed values to be applied on the game thread.
+     */
+    private void onFileChanged(Path file, byte[] content) {
+        String name = file.getFileName().toString();
+        boolean inShardDir = file.getParent().equals(shards.getShardDir().toPath().toAbsolutePath().normalize());
+
+        ConfigSnapshot snapshot;
+        try {
+            if (inShardDir) {
+                if (!sharded) {
+                    return;
                 }
+
+                if (shards.isIndex(name)) {
+                    snapshot = ModuleConfigCodec.readSnapshot(jsonReader(content));
+                } else {
+                    Module module = shards.findModule(name);
+                    if (module == null) {
+                        return;
+                    }
+                    snapshot = ModuleConfigCodec.readShardSnapshot(jsonReader(content), module.getName());
+                }
+            } else if (sharded) {
+                return;
+            } else {
+                snapshot = ModuleBinaryCodec.readSnapshot(new BinaryConfigReader(ByteBuffer.wrap(content)));
             }
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable config change to {}", name);
+            return;
         }
+
+        Minecraft.getInstance().execute(() -> applyExternal(snapshot, name, !inShardDir));
     }
 
     /**
-     * Saves the current configuration to file.
+     * Applies an external config change on the game thread.
+     *
+     * @param snapshot The parsed config
+     * @param source   The changed file name
+     * @param compact  Whether to fold the change into a fresh snapshot
      */
-    public void save() {
-        try (FileWriter writer = new FileWriter(modulesFile)) {
-            JsonObject json = new JsonObject();
+    private void applyExternal(ConfigSnapshot snapshot, String source, boolean compact) {
+        int changes;
+        List<Module> touched = new ArrayList<>();
+
+        loading = true;
+        try {
+            changes = snapshot.applyChanges(touched);
+        } finally {
+            loading = false;
+        }
+
+        if (changes == 0) {
+            return;
+        }
+
+        // Not journaled, but the active profile must stop treating the old values as its baseline
+        for (Module module : touched) {
+            ProfileManager.getInstance().onModuleChanged(module);
+        }
 
-            // Save module configurations
-            JsonObject modulesJson = new JsonObject();
+        logger.info("Applied {} external config change(s) from {}", changes, source);
 
+        // Older journal records must not override the new values on restart
+        if (compact && !sharded) {
+            compactAsync();
+        }
+    }
+
+    private static JsonReader jsonReader(byte[] content) {
+        return new JsonReader(new StringReader(new String(content, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Loads enabled states and keybinds from the shard index.
+     * Settings are deferred until each module is accessed or enabled.
+     */
+    private void loadSharded() {
+        ModuleConfigCodec.ModuleStates states = new ModuleConfigCodec.ModuleStates();
+
+        loading = true;
+        try {
             for (Module module : ModuleManager.getInstance().getModules()) {
-                modulesJson.add(module.getName(), createModuleConfig(module));
+                module.deferSettingsLoad();
             }
 
-            json.add("modules", modulesJson);
+            shards.readIndex(states);
 
-            // Write to file
-            gson.toJson(json, writer);
+            // Enabling loads the module's settings first
+            states.apply();
 
-            logger.debug("Module configuration saved successfully");
+            logger.info("Module index loaded successfully (sharded layout)");
 
-        } catch (IOException e) {
-            logger.error("Failed to save module configuration", e);
+        } catch (Exception e) {
+            logger.error("Error applying module index", e);
+        } finally {
+            loading = false;
         }
     }
 
     /**
-     * Creates JSON config for a single module.
+     * Reads a module's settings from its shard.
+     * Called by {@link Module#ensureSettingsLoaded()} on first use.
+     *
+     * @param module The module to load
      */
-    private JsonObject createModuleConfig(Module module) {
-        JsonObject json = new JsonObject();
+    public void loadModuleSettings(Module module) {
+        if (!sharded) {
+            return;
+        }
 
-        json.addProperty("enabled", module.isEnabled());
-        json.addProperty("keybind", module.getKeyBind());
+        boolean wasLoading = loading;
+        loading = true;
+        try {
+            if (shards.readShard(module)) {
+                notifyLoaded(List.of(module));
+                logger.debug("Loaded settings for {}", module.getName());
+            }
+        } finally {
+            loading = wasLoading;
+        }
+    }
+
+    /**
+     * Notifies setting subscribers of values read directly into the
+     * settings, so modules can derive state from loaded values.
+     *
+     * @param modules The modules whose settings were read
+     */
+    private void notifyLoaded(Collection<Module> modules) {
+        SettingChangeBatch.run(() -> {
+            for (Module module : modules) {
+                if (module.isSettingsLoaded()) {
+                    for (Setting<?> setting : module.getSettings()) {
+                        setting.notifySubscribers();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Switches between the single-file and the sharded layout,
+     * migrating the current configuration.
+     *
+     * @param enabled true to use one file per module
+     */
+    public void setShardedLayout(boolean enabled) {
+        if (sharded == enabled) {
+            return;
+        }
+
+        // Both directions need every module's settings in memory
+        for (Module module : ModuleManager.getInstance().getModules()) {
+            module.ensureSettingsLoaded();
+        }
+
+        sharded = enabled;
+
+        if (enabled) {
+            save();
+            watchShards();
+
+            journal.beginCompaction();
+            journal.finishCompaction();
+
+            if (binaryFile.exists()) {
+                try {
+                    Files.move(binaryFile.toPath(), binaryFile.toPath().resolveSibling("modules.bin.bak"),
+                            StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    logger.warn("Failed to back up modules.bin after sharding");
+                }
+            }
+
+            logger.info("Switched to sharded module config");
+        } else {
+            save();
+            shards.deleteAll();
+
+            logger.info("Switched to single-file module config");
+        }
+    }
+
+    /**
+     * Checks if the sharded layout is active.
+     *
+     * @return true if each module has its own config file
+     */
+    public boolean isShardedLayout() {
+        return sharded;
+    }
+
+    /**
+     * Saves the full configuration to file and truncates the journal.
+     * Blocks until the snapshot is written.
+     */
+    public void save() {
+        if (sharded) {
+            List<PersistentStore> stores = new ArrayList<>();
+            stores.add(indexStore);
+            for (Module module : ModuleManager.getInstance().getModules()) {
+                stores.add(shardStore(module));
+            }
+
+            persistence.flush(stores);
+            return;
+        }
+
+        persistence.flush(snapshotStore);
+    }
+
+    /**
+     * Applies a batch of changes without recording each value, then
+     * persists the result once in the background.
+     *
+     * @param changed The modules the batch touches
+     * @param apply   Applies the changes (game thread)
+     */
+    public void applyBatch(Collection<Module> changed, Runnable apply) {
+        boolean wasLoading = loading;
+        loading = true;
+        try {
+            apply.run();
+        } finally {
+            loading = wasLoading;
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        if (sharded) {
+            persistence.markDirty(indexStore);
+            for (Module module : changed) {
+                persistence.markDirty(shardStore(module));
+            }
+        } else {
+            compactAsync();
+        }
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot in the background.
+     */
+    public void compactAsync() {
+        if (!sharded) {
+            persistence.markDirty(snapshotStore);
+        }
+    }
+
+    /**
+     * Encodes the full binary snapshot of all modules.
+     *
+     * @return The encoded snapshot, or null on failure
+     */
+    private byte[] createSnapshot() {
+        try {
+            return ModuleBinaryCodec.writeSnapshot(ModuleManager.getInstance().getModules());
+        } catch (Exception e) {
+            logger.error("Failed to encode module configuration", e);
+            return null;
+        }
+    }
 
-        // Save settings
-        if (!module.getSettings().isEmpty()) {
-            JsonObject settingsJson = new JsonObject();
+    /**
+     * Gets the store writing a module's settings shard.
+     */
+    private PersistentStore shardStore(Module module) {
+        return shardStores.computeIfAbsent(module, key -> new PersistentStore() {
+            @Override
+            public Path getPath() {
+                return shards.getShardFile(key.getName()).toPath();
+            }
 
-            for (Setting<?> setting : module.getSettings()) {
-                settingsJson.addProperty(setting.getName(), setting.serialize());
+            @Override
+            public byte[] capture() throws IOException {
+                // Never overwrite a shard that was not read yet
+                if (!key.isSettingsLoaded()) {
+                    return null;
+                }
+                return ModuleConfigCodec.writeShard(key).getBytes(StandardCharsets.UTF_8);
             }
+        });
+    }
 
-            json.add("settings", settingsJson);
+    /**
+     * Records a module's enabled state change.
+     *
+     * @param module The module
+     */
+    public void recordEnabled(Module module) {
+        if (loading) {
+            return;
         }
 
-        return json;
+        ProfileManager.getInstance().onModuleChanged(module);
+
+        if (sharded) {
+            persistence.markDirty(indexStore);
+            return;
+        }
+
+        try {
+            append(ModuleConfigCodec.writeEnabledRecord(module));
+        } catch (IOException e) {
+            logger.error("Failed to encode config record", e);
+        }
+    }
+
+    /**
+     * Records a module's keybind change.
+     *
+     * @param module The module
+     */
+    public void recordKeyBind(Module module) {
+        if (loading) {
+            return;
+        }
+
+        ProfileManager.getInstance().onModuleChanged(module);
+
+        if (sharded) {
+            persistence.markDirty(indexStore);
+            return;
+        }
+
+        try {
+            append(ModuleConfigCodec.writeKeyBindRecord(module));
+        } catch (IOException e) {
+            logger.error("Failed to encode config record", e);
+        }
+    }
+
+    /**
+     * Records a setting value change.
+     *
+     * @param setting The changed setting
+     */
+    public void recordSetting(Setting<?> setting) {
+        if (loading || setting.getModule() == null) {
+            return;
+        }
+
+        ProfileManager.getInstance().onModuleChanged(setting.getModule());
+
+        if (sharded) {
+            persistence.markDirty(shardStore(setting.getModule()));
+            return;
+        }
+
+        try {
+            append(ModuleConfigCodec.writeSettingRecord(setting));
+        } catch (IOException e) {
+            logger.error("Failed to encode config record", e);
+        }
+    }
+
+    /**
+     * Appends a record and compacts once the journal grows too large.
+     */
+    private void append(String record) {
+        journal.append(record);
+
+        if (journal.getRecordCount() >= COMPACT_THRESHOLD) {
+            compactAsync();
+        }
     }
 
     /**
      * Saves a single module's configuration.
-     * 
+     * Journals the module's enabled state, keybind and every setting.
+     *
      * @param module The module to save
      */
     public void saveModule(Module module) {
-        save();
+        if (sharded) {
+            persistence.markDirty(indexStore);
+            persistence.markDirty(shardStore(module));
+            return;
+        }
+
+        recordEnabled(module);
+        recordKeyBind(module);
+
+        for (Setting<?> setting : module.getSettings()) {
+            recordSetting(setting);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import art.ameliah.fabric.autosprintfix.core.module.Module;
+import art.ameliah.fabric.autosprintfix.core.module.ModuleManager;
+import art.ameliah.fabric.autosprintfix.core.module.settings.Setting;
+import art.ameliah.fabric.autosprintfix.core.module.settings.SettingChangeBatch;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Module configuration read into memory without touching the live modules.
+ *
+ * Setting values are kept in their {@link Setting#serialize()} form so a
+ * snapshot can be parsed on any thread and later diffed against the live
+ * settings. {@link #applyChanges(Collection)} only touches values that differ.
+ */
+public class ConfigSnapshot {
+
+    // State per module name
+    private final Map<String, ModuleState> modules = new LinkedHashMap<>();
+
+    /**
+     * Configuration of a single module. Absent values are null.
+     */
+    public static class ModuleState {
+
+        // Enabled state (null if not present)
+        private Boolean enabled;
+
+        // Keybind (null if not present)
+        private Integer keyBind;
+
+        // Serialized setting values by setting name
+        private final Map<String, String> settings = new LinkedHashMap<>();
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getKeyBind() {
+            return keyBind;
+        }
+
+        public void setKeyBind(Integer keyBind) {
+            this.keyBind = keyBind;
+        }
+
+        public Map<String, String> getSettings() {
+            return Collections.unmodifiableMap(settings);
+        }
+
+        public void putSetting(String name, String value) {
+            settings.put(name, value);
+        }
+    }
+
+    /**
+     * Gets or creates the state of a module.
+     *
+     * @param moduleName The module name
+     * @return The module state
+     */
+    public ModuleState module(String moduleName) {
+        return modules.computeIfAbsent(moduleName, name -> new ModuleState());
+    }
+
+    /**
+     * Gets all module states.
+     *
+     * @return Module states by module name
+     */
+    public Map<String, ModuleState> getModules() {
+        return Collections.unmodifiableMap(modules);
+    }
+
+    /**
+     * Applies values that differ from the live modules.
+     * Settings are applied before enabled states, and settings of modules
+     * whose settings are not loaded yet are left to the lazy load.
+     * Must be called on the game thread.
+     *
+     * @param touched Receives each module that had a value changed
+     * @return The number of changed values
+     */
+    public int applyChanges(Collection<Module> touched) {
+        // Subscribers are notified once, after all values are applied
+        SettingChangeBatch.begin();
+        try {
+            return applyAll(touched);
+        } finally {
+            SettingChangeBatch.end();
+        }
+    }
+
+    private int applyAll(Collection<Module> touched) {
+        int changes = 0;
+
+        for (Map.Entry<String, ModuleState> entry : modules.entrySet()) {
+            Module module = ModuleManager.getInstance().getModule(entry.getKey());
+            if (module == null) {
+                continue;
+            }
+
+            ModuleState state = entry.getValue();
+            int before = changes;
+
+            if (module.isSettingsLoaded()) {
+                for (Map.Entry<String, String> setting : state.settings.entrySet()) {
+                    Setting<?> live = module.lookupSetting(setting.getKey());
+
+                    if (live != null && setting.getValue() != null && !setting.getValue().equals(live.serialize())) {
+                        live.deserialize(setting.getValue());
+                        live.notifySubscribers();
+                        changes++;
+                    }
+                }
+            }
+
+            if (state.keyBind != null && state.keyBind != module.getKeyBind()) {
+                module.setKeyBind(state.keyBind);
+                changes++;
+            }
+
+            if (state.enabled != null && state.enabled != module.isEnabled()) {
+                module.setEnabled(state.enabled);
+                changes++;
+            }
+
+            if (changes > before) {
+                touched.add(module);
+            }
+        }
+
+        return changes;
+    }
+}
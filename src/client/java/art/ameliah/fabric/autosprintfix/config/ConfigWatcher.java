@@ -0,0 +1,206 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * Watches config directories for external changes (e.g. a sync tool
+ * replacing a config file) and hands the new file content to listeners.
+ *
+ * Listeners run on the watcher thread, so they can parse off the game
+ * thread and only schedule the apply step on it. Files written by the mod
+ * itself are announced through {@link #recordWrite(Path, byte[])} and
+ * ignored when their change event arrives.
+ */
+public class ConfigWatcher {
+
+    // Time to let multi-step writes settle before reading (milliseconds)
+    private static final long SETTLE_MS = 100;
+
+    // Singleton instance
+    private static ConfigWatcher instance;
+
+    // Listeners per watched directory
+    private final Map<Path, List<Registration>> listeners = new ConcurrentHashMap<>();
+
+    // Checksum of the last content seen or written per file
+    private final Map<Path, Long> knownContent = new ConcurrentHashMap<>();
+
+    // Logger reference
+    private final ModLogger logger;
+
+    // Watch service (created on the first registration)
+    private WatchService watchService;
+
+    /**
+     * A listener for files in a watched directory.
+     */
+    private record Registration(Predicate<String> fileFilter, BiConsumer<Path, byte[]> listener) {
+    }
+
+    /**
+     * Private constructor for singleton pattern.
+     */
+    private ConfigWatcher() {
+        this.logger = ModLogger.getInstance();
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return The ConfigWatcher instance
+     */
+    public static synchronized ConfigWatcher getInstance() {
+        if (instance == null) {
+            instance = new ConfigWatcher();
+        }
+        return instance;
+    }
+
+    /**
+     * Watches a directory for created or modified files.
+     *
+     * @param dir        The directory to watch
+     * @param fileFilter Accepts the file names the listener is interested in
+     * @param listener   Receives the changed file and its content (watcher thread)
+     */
+    public synchronized void watch(Path dir, Predicate<String> fileFilter, BiConsumer<Path, byte[]> listener) {
+        Path key = normalize(dir);
+
+        try {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+
+                Thread thread = new Thread(this::run, "AutoSprintFix Config Watcher");
+                thread.setDaemon(true);
+                thread.start();
+            }
+
+            if (!listeners.containsKey(key)) {
+                key.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+
+            listeners.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>())
+                    .add(new Registration(fileFilter, listener));
+
+        } catch (IOException e) {
+            logger.error("Failed to watch config directory " + dir, e);
+        }
+    }
+
+    /**
+     * Announces content the mod is about to write, so the resulting
+     * change event is not treated as an external edit.
+     *
+     * @param file    The file being written
+     * @param content The new content
+     */
+    public void recordWrite(Path file, byte[] content) {
+        knownContent.put(normalize(file), checksum(content));
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(watchService.take(), changed);
+
+                // Coalesce bursts and let writers finish
+                Thread.sleep(SETTLE_MS);
+
+                WatchKey next;
+                while ((next = watchService.poll()) != null) {
+                    collect(next, changed);
+                }
+
+                for (Path file : changed) {
+                    dispatch(file);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) {
+        Path dir = (Path) key.watchable();
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                continue;
+            }
+
+            Path name = (Path) event.context();
+            if (!name.toString().endsWith(".tmp")) {
+                changed.add(dir.resolve(name));
+            }
+        }
+
+        key.reset();
+    }
+
+    private void dispatch(Path file) {
+        List<Registration> registrations = listeners.get(file.getParent());
+        if (registrations == null || !Files.isRegularFile(file)) {
+            return;
+        }
+
+        String name = file.getFileName().toString();
+        if (registrations.stream().noneMatch(registration -> registration.fileFilter().test(name))) {
+            return;
+        }
+
+        byte[] content;
+        try {
+            content = Files.readAllBytes(file);
+        } catch (IOException e) {
+            logger.warn("Failed to read changed config file {}", name);
+            return;
+        }
+
+        // Ignore our own writes and repeated events for the same content
+        long checksum = checksum(content);
+        Long known = knownContent.put(file, checksum);
+        if (known != null && known == checksum) {
+            return;
+        }
+
+        for (Registration registration : registrations) {
+            if (registration.fileFilter().test(name)) {
+                try {
+                    registration.listener().accept(file, content);
+                } catch (Exception e) {
+                    logger.error("Error handling config change for " + name, e);
+                }
+            }
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private static long checksum(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return crc.getValue() ^ ((long) content.length << 32);
+    }
+}
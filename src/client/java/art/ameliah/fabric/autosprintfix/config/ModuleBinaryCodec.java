@@ -0,0 +1,115 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import art.ameliah.fabric.autosprintfix.core.module.Module;
+import art.ameliah.fabric.autosprintfix.core.module.ModuleManager;
+import art.ameliah.fabric.autosprintfix.core.module.settings.Setting;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Binary encoding of module configuration (modules.bin).
+ *
+ * Body layout (after the header and string table, see
+ * {@link BinaryConfigWriter}):
+ * - varint module count
+ * - per module: name symbol, enabled byte, zigzag keybind, varint setting
+ *   count, then per setting its name symbol and tagged value
+ *
+ * Like {@link ModuleConfigCodec}, settings are read directly into the live
+ * settings and enabled states/keybinds are collected in
+ * {@link ModuleConfigCodec.ModuleStates}.
+ */
+public final class ModuleBinaryCodec {
+
+    private ModuleBinaryCodec() {
+    }
+
+    /**
+     * Encodes a full snapshot of the given modules.
+     *
+     * @param modules The modules to write
+     * @return The encoded snapshot
+     */
+    public static byte[] writeSnapshot(Collection<Module> modules) {
+        BinaryConfigWriter out = new BinaryConfigWriter();
+
+        out.writeVarInt(modules.size());
+
+        for (Module module : modules) {
+            out.writeSymbol(module.getName());
+            out.writeBoolean(module.isEnabled());
+            out.writeZigZag(module.getKeyBind());
+
+            List<Setting<?>> settings = module.getSettings();
+            out.writeVarInt(settings.size());
+
+            for (Setting<?> setting : settings) {
+                out.writeSymbol(setting.getName());
+                setting.write(out);
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads a snapshot. Unknown modules and settings are skipped.
+     *
+     * @param in     The binary reader
+     * @param states Collected module states
+     * @throws IOException If the snapshot is malformed
+     */
+    public static void readSnapshot(BinaryConfigReader in, ModuleConfigCodec.ModuleStates states) throws IOException {
+        int moduleCount = in.readVarInt();
+
+        for (int i = 0; i < moduleCount; i++) {
+            Module module = ModuleManager.getInstance().getModule(in.readSymbol());
+            boolean enabled = in.readBoolean();
+            int keyBind = in.readZigZag();
+            int settingCount = in.readVarInt();
+
+            if (module != null) {
+                states.put(module, enabled, keyBind);
+            }
+
+            for (int j = 0; j < settingCount; j++) {
+                String name = in.readSymbol();
+                Setting<?> setting = module != null ? module.lookupSetting(name) : null;
+
+                if (setting != null) {
+                    setting.read(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot without applying it.
+     *
+     * @param in The binary reader
+     * @return The parsed snapshot
+     * @throws IOException If the snapshot is malformed
+     */
+    public static ConfigSnapshot readSnapshot(BinaryConfigReader in) throws IOException {
+        ConfigSnapshot snapshot = new ConfigSnapshot();
+        int moduleCount = in.readVarInt();
+
+        for (int i = 0; i < moduleCount; i++) {
+            ConfigSnapshot.ModuleState state = snapshot.module(in.readSymbol());
+            state.setEnabled(in.readBoolean());
+            state.setKeyBind(in.readZigZag());
+
+            int settingCount = in.readVarInt();
+            for (int j = 0; j < settingCount; j++) {
+                String name = in.readSymbol();
+                state.putSetting(name, in.readValueString());
+            }
+        }
+
+        return snapshot;
+    }
+}
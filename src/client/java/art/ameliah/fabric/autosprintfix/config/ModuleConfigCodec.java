@@ -0,0 +1,527 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import art.ameliah.fabric.autosprintfix.core.module.Module;
+import art.ameliah.fabric.autosprintfix.core.module.ModuleManager;
+import art.ameliah.fabric.autosprintfix.core.module.settings.Setting;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Streaming JSON encoding of module configuration.
+ *
+ * Values are written and read token by token with Gson's
+ * {@link JsonWriter}/{@link JsonReader}; no intermediate JSON trees are
+ * built. Setting names are resolved through each module's setting schema
+ * ({@link Module#lookupSetting(String)}) and values are read directly into
+ * the live {@link Setting} objects. Enabled states and keybinds are
+ * collected in {@link ModuleStates} so they can be applied once, after all
+ * sources (snapshot, journal, index) were read.
+ *
+ * The detached readers ({@link #readSnapshot(JsonReader)},
+ * {@link #readShardSnapshot(JsonReader, String)}) produce a
+ * {@link ConfigSnapshot} instead and may run on any thread.
+ */
+public final class ModuleConfigCodec {
+
+    private ModuleConfigCodec() {
+    }
+
+    /**
+     * Enabled states and keybinds read from config, applied after loading.
+     */
+    public static class ModuleStates {
+
+        // Enabled state per module
+        private final Map<Module, Boolean> enabled = new LinkedHashMap<>();
+
+        // Keybind per module
+        private final Map<Module, Integer> keyBinds = new LinkedHashMap<>();
+
+        /**
+         * Checks if no state was read.
+         *
+         * @return true if empty
+         */
+        public boolean isEmpty() {
+            return enabled.isEmpty() && keyBinds.isEmpty();
+        }
+
+        /**
+         * Records the enabled state and keybind of a module.
+         *
+         * @param module  The module
+         * @param enabled Whether the module is enabled
+         * @param keyBind The keybind
+         */
+        public void put(Module module, boolean enabled, int keyBind) {
+            this.enabled.put(module, enabled);
+            this.keyBinds.put(module, keyBind);
+        }
+
+        /**
+         * Applies keybinds, then the saved enabled states.
+         */
+        public void apply() {
+            keyBinds.forEach(Module::setKeyBind);
+            enabled.forEach(Module::setEnabled);
+        }
+    }
+
+    /* ================= WRITING ================= */
+
+    /**
+     * Encodes a full snapshot of the given modules.
+     *
+     * @param modules The modules to write
+     * @return The pretty-printed JSON document
+     * @throws IOException If writing fails
+     */
+    public static String writeSnapshot(Collection<Module> modules) throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("modules");
+            writer.beginObject();
+
+            for (Module module : modules) {
+                writer.name(module.getName());
+                writeModule(writer, module);
+            }
+
+            writer.endObject();
+            writer.endObject();
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Encodes the shard index (enabled states and keybinds only).
+     *
+     * @param modules The modules to write
+     * @return The pretty-printed JSON document
+     * @throws IOException If writing fails
+     */
+    public static String writeIndex(Collection<Module> modules) throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("modules");
+            writer.beginObject();
+
+            for (Module module : modules) {
+                writer.name(module.getName());
+                writer.beginObject();
+                writer.name("enabled").value(module.isEnabled());
+                writer.name("keybind").value(module.getKeyBind());
+                writer.endObject();
+            }
+
+            writer.endObject();
+            writer.endObject();
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Encodes the settings shard of a single module.
+     *
+     * @param module The module to write
+     * @return The pretty-printed JSON document
+     * @throws IOException If writing fails
+     */
+    public static String writeShard(Module module) throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("settings");
+            writeSettings(writer, module);
+            writer.endObject();
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Writes a module object (enabled, keybind, settings).
+     *
+     * @param writer The JSON writer
+     * @param module The module to write
+     * @throws IOException If writing fails
+     */
+    public static void writeModule(JsonWriter writer, Module module) throws IOException {
+        writer.beginObject();
+        writer.name("enabled").value(module.isEnabled());
+        writer.name("keybind").value(module.getKeyBind());
+
+        if (!module.getSettings().isEmpty()) {
+            writer.name("settings");
+            writeSettings(writer, module);
+        }
+
+        writer.endObject();
+    }
+
+    /**
+     * Writes a module's settings object.
+     *
+     * @param writer The JSON writer
+     * @param module The module to write
+     * @throws IOException If writing fails
+     */
+    public static void writeSettings(JsonWriter writer, Module module) throws IOException {
+        writer.beginObject();
+
+        for (Setting<?> setting : module.getSettings()) {
+            writer.name(setting.getName());
+            setting.write(writer);
+        }
+
+        writer.endObject();
+    }
+
+    /**
+     * Encodes a journal record for a module's enabled state.
+     *
+     * @param module The module
+     * @return Single-line JSON record
+     * @throws IOException If writing fails
+     */
+    public static String writeEnabledRecord(Module module) throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            writer.name("module").value(module.getName());
+            writer.name("enabled").value(module.isEnabled());
+            writer.endObject();
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Encodes a journal record for a module's keybind.
+     *
+     * @param module The module
+     * @return Single-line JSON record
+     * @throws IOException If writing fails
+     */
+    public static String writeKeyBindRecord(Module module) throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            writer.name("module").value(module.getName());
+            writer.name("keybind").value(module.getKeyBind());
+            writer.endObject();
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Encodes a journal record for a setting value.
+     *
+     * @param setting The setting (must belong to a module)
+     * @return Single-line JSON record
+     * @throws IOException If writing fails
+     */
+    public static String writeSettingRecord(Setting<?> setting) throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginObject();
+            writer.name("module").value(setting.getModule().getName());
+            writer.name("setting").value(setting.getName());
+            writer.name("value");
+            setting.write(writer);
+            writer.endObject();
+        }
+
+        return out.toString();
+    }
+
+    /* ================= READING ================= */
+
+    /**
+     * Reads a snapshot or shard index document ({"modules": {...}}).
+     * Settings are applied directly; enabled states and keybinds are
+     * collected into the given states.
+     *
+     * @param reader The JSON reader
+     * @param states Collected module states
+     * @throws IOException If the document is malformed
+     */
+    public static void readModules(JsonReader reader, ModuleStates states) throws IOException {
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("modules") || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                Module module = ModuleManager.getInstance().getModule(reader.nextName());
+                readModule(reader, module, states);
+            }
+            reader.endObject();
+        }
+
+        reader.endObject();
+    }
+
+    /**
+     * Reads a single module object. Unknown modules are skipped.
+     *
+     * @param reader The JSON reader
+     * @param module The module, or null to skip
+     * @param states Collected module states
+     * @throws IOException If the document is malformed
+     */
+    public static void readModule(JsonReader reader, Module module, ModuleStates states) throws IOException {
+        if (module == null || reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "enabled" -> states.enabled.put(module, reader.nextBoolean());
+                case "keybind" -> states.keyBinds.put(module, reader.nextInt());
+                case "settings" -> readSettings(reader, module);
+                default -> reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+    }
+
+    /**
+     * Reads a settings object directly into a module's settings.
+     *
+     * @param reader The JSON reader
+     * @param module The module
+     * @throws IOException If the document is malformed
+     */
+    public static void readSettings(JsonReader reader, Module module) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            Setting<?> setting = module.lookupSetting(reader.nextName());
+
+            if (setting != null) {
+                setting.read(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+    }
+
+    /**
+     * Reads a settings shard document ({"settings": {...}}).
+     *
+     * @param reader The JSON reader
+     * @param module The module the shard belongs to
+     * @throws IOException If the document is malformed
+     */
+    public static void readShard(JsonReader reader, Module module) throws IOException {
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("settings")) {
+                readSettings(reader, module);
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+    }
+
+    /**
+     * Reads and applies a single journal record.
+     * Records are written with "module" first, so fields can be applied
+     * as they are streamed.
+     *
+     * @param reader The JSON reader
+     * @param states Collected module states
+     * @throws IOException If the record is malformed
+     */
+    public static void readRecord(JsonReader reader, ModuleStates states) throws IOException {
+        Module module = null;
+        Setting<?> setting = null;
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if (name.equals("module")) {
+                module = ModuleManager.getInstance().getModule(reader.nextString());
+            } else if (module == null) {
+                reader.skipValue();
+            } else if (name.equals("enabled")) {
+                states.enabled.put(module, reader.nextBoolean());
+            } else if (name.equals("keybind")) {
+                states.keyBinds.put(module, reader.nextInt());
+            } else if (name.equals("setting")) {
+                setting = module.lookupSetting(reader.nextString());
+            } else if (name.equals("value") && setting != null) {
+                setting.read(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+    }
+
+    /* ================= DETACHED READING ================= */
+
+    /**
+     * Reads a snapshot or shard index document without applying it.
+     *
+     * @param reader The JSON reader
+     * @return The parsed snapshot
+     * @throws IOException If the document is malformed
+     */
+    public static ConfigSnapshot readSnapshot(JsonReader reader) throws IOException {
+        ConfigSnapshot snapshot = new ConfigSnapshot();
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("modules") || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String moduleName = reader.nextName();
+
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.skipValue();
+                    continue;
+                }
+
+                ConfigSnapshot.ModuleState state = snapshot.module(moduleName);
+
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    switch (reader.nextName()) {
+                        case "enabled" -> state.setEnabled(reader.nextBoolean());
+                        case "keybind" -> state.setKeyBind(reader.nextInt());
+                        case "settings" -> readSettingValues(reader, state);
+                        default -> reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            }
+            reader.endObject();
+        }
+
+        reader.endObject();
+        return snapshot;
+    }
+
+    /**
+     * Reads a settings shard document without applying it.
+     *
+     * @param reader     The JSON reader
+     * @param moduleName The module the shard belongs to
+     * @return The parsed snapshot
+     * @throws IOException If the document is malformed
+     */
+    public static ConfigSnapshot readShardSnapshot(JsonReader reader, String moduleName) throws IOException {
+        ConfigSnapshot snapshot = new ConfigSnapshot();
+        ConfigSnapshot.ModuleState state = snapshot.module(moduleName);
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("settings")) {
+                readSettingValues(reader, state);
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return snapshot;
+    }
+
+    private static void readSettingValues(JsonReader reader, ConfigSnapshot.ModuleState state) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return;
+        }
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            state.putSetting(name, readValueString(reader));
+        }
+
+        reader.endObject();
+    }
+
+    /**
+     * Reads a setting value in its {@link Setting#serialize()} form.
+     *
+     * @param reader The JSON reader
+     * @return The serialized value, or null for unsupported values
+     * @throws IOException If the value is malformed
+     */
+    private static String readValueString(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING, NUMBER -> {
+                return reader.nextString();
+            }
+            case BOOLEAN -> {
+                return String.valueOf(reader.nextBoolean());
+            }
+            case BEGIN_ARRAY -> {
+                reader.beginArray();
+                double min = reader.nextDouble();
+                double max = reader.nextDouble();
+                while (reader.hasNext()) {
+                    reader.skipValue();
+                }
+                reader.endArray();
+                return min + "," + max;
+            }
+            default -> {
+                reader.skipValue();
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+import art.ameliah.fabric.autosprintfix.core.module.Module;
+import art.ameliah.fabric.autosprintfix.core.module.ModuleManager;
+import com.google.gson.stream.JsonReader;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * File layout and reading for the sharded module config layout.
+ * Writes go through the {@link PersistenceService}.
+ *
+ * Layout under config/AutoSprintFix/modules/:
+ * - index.json: enabled state and keybind of every module (needed at startup)
+ * - &lt;Module&gt;.json: settings of a single module (read on first use)
+ */
+public class ModuleShardStore {
+
+    // Shard directory
+    private final File shardDir;
+
+    // Index file with enabled states and keybinds
+    private final File indexFile;
+
+    // Logger reference
+    private final ModLogger logger;
+
+    /**
+     * Creates a shard store in the given config directory.
+     *
+     * @param configDir The config directory
+     */
+    public ModuleShardStore(File configDir) {
+        this.shardDir = new File(configDir, "modules");
+        this.indexFile = new File(shardDir, "index.json");
+        this.logger = ModLogger.getInstance();
+    }
+
+    /**
+     * Checks if the sharded layout is in use.
+     *
+     * @return true if the shard directory exists
+     */
+    public boolean exists() {
+        return shardDir.isDirectory();
+    }
+
+    /**
+     * Gets the shard directory.
+     *
+     * @return The shard directory
+     */
+    public File getShardDir() {
+        return shardDir;
+    }
+
+    /**
+     * Checks if a file name is the shard index.
+     *
+     * @param fileName The file name
+     * @return true for index.json
+     */
+    public boolean isIndex(String fileName) {
+        return fileName.equals(indexFile.getName());
+    }
+
+    /**
+     * Finds the module a shard file belongs to.
+     *
+     * @param fileName The shard file name
+     * @return The module, or null if no module uses this file
+     */
+    public Module findModule(String fileName) {
+        for (Module module : ModuleManager.getInstance().getModules()) {
+            if (getShardFile(module.getName()).getName().equals(fileName)) {
+                return module;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads enabled states and keybinds from the index.
+     *
+     * @param states Collected module states
+     */
+    public void readIndex(ModuleConfigCodec.ModuleStates states) {
+        if (!indexFile.exists()) {
+            return;
+        }
+
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8))) {
+            ModuleConfigCodec.readModules(reader, states);
+        } catch (Exception e) {
+            logger.error("Failed to read config shard index", e);
+        }
+    }
+
+    /**
+     * Reads a module's settings shard directly into its settings.
+     *
+     * @param module The module
+     * @return true if a shard was found and read
+     */
+    public boolean readShard(Module module) {
+        File file = getShardFile(module.getName());
+        if (!file.exists()) {
+            return false;
+        }
+
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))) {
+            ModuleConfigCodec.readShard(reader, module);
+            return true;
+        } catch (Exception e) {
+            logger.error("Failed to read config shard " + file.getName(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the index file.
+     *
+     * @return The index file
+     */
+    public File getIndexFile() {
+        return indexFile;
+    }
+
+    /**
+     * Gets the settings shard file of a module.
+     *
+     * @param moduleName The module name
+     * @return The shard file
+     */
+    public File getShardFile(String moduleName) {
+        return new File(shardDir, moduleName.replaceAll("[^A-Za-z0-9_\\-]", "_") + ".json");
+    }
+
+    /**
+     * Deletes every shard file and the shard directory.
+     */
+    public void deleteAll() {
+        File[] files = shardDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    logger.warn("Failed to delete config shard {}", file.getName());
+                }
+            }
+        }
+        shardDir.delete();
+    }
+}
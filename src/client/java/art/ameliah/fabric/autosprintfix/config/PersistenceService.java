@@ -0,0 +1,323 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+import net.minecraft.client.Minecraft;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Single persistence engine for all config files of the mod.
+ *
+ * Every store ({@link ConfigManager}, GuiSettings, FriendsManager) lives in
+ * the canonical directory config/AutoSprintFix/ and registers its files as
+ * {@link PersistentStore}s. Changes only mark a store dirty; dirty stores
+ * are captured together on the game thread after a short delay and written
+ * on one background writer thread with temp-file-and-rename writes, so the
+ * game thread never waits for the disk.
+ */
+public class PersistenceService {
+
+    // Delay used to coalesce bursts of changes (milliseconds)
+    private static final long FLUSH_DELAY_MS = 500;
+
+    // Singleton instance
+    private static PersistenceService instance;
+
+    // Canonical config directory
+    private final Path configDir;
+
+    // Background writer thread
+    private final ScheduledExecutorService writer;
+
+    // Registered stores
+    private final Set<PersistentStore> stores = ConcurrentHashMap.newKeySet();
+
+    // Stores with unsaved changes
+    private final Set<PersistentStore> dirty = ConcurrentHashMap.newKeySet();
+
+    // Whether a dirty flush is already scheduled
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    // Logger reference
+    private final ModLogger logger;
+
+    /**
+     * Private constructor for singleton pattern.
+     */
+    private PersistenceService() {
+        this.logger = ModLogger.getInstance();
+
+        // Get config directory: config/AutoSprintFix/
+        this.configDir = Path.of(System.getProperty("user.dir"), "config", "AutoSprintFix");
+
+        try {
+            Files.createDirectories(configDir);
+        } catch (IOException e) {
+            logger.error("Failed to create config directory", e);
+        }
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AutoSprintFix Persistence");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return The PersistenceService instance
+     */
+    public static synchronized PersistenceService getInstance() {
+        if (instance == null) {
+            instance = new PersistenceService();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the canonical config directory.
+     *
+     * @return The config directory
+     */
+    public Path getConfigDir() {
+        return configDir;
+    }
+
+    /**
+     * Registers a store so it is flushed on shutdown.
+     *
+     * @param store The store
+     */
+    public void register(PersistentStore store) {
+        stores.add(store);
+    }
+
+    /**
+     * Marks a store as changed. It is captured and written in the background
+     * together with other stores changed in the same burst.
+     *
+     * @param store The changed store
+     */
+    public void markDirty(PersistentStore store) {
+        dirty.add(store);
+
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer.schedule(() -> Minecraft.getInstance().execute(this::flushDirty),
+                    FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Checks if a store has unsaved changes.
+     *
+     * @param store The store
+     * @return true if the store is dirty
+     */
+    public boolean isDirty(PersistentStore store) {
+        return dirty.contains(store);
+    }
+
+    /**
+     * Captures a store now and writes it in the background.
+     *
+     * @param store The store
+     */
+    public void flushAsync(PersistentStore store) {
+        dirty.remove(store);
+        submitWrite(store, capture(store));
+    }
+
+    /**
+     * Captures a store now and blocks until it is written.
+     *
+     * @param store The store
+     */
+    public void flush(PersistentStore store) {
+        flush(List.of(store));
+    }
+
+    /**
+     * Captures the given stores now and blocks until they are written.
+     * Writes queued earlier complete first.
+     *
+     * @param toFlush The stores
+     */
+    public void flush(Collection<? extends PersistentStore> toFlush) {
+        awaitWrites();
+
+        Future<?> last = null;
+        for (PersistentStore store : toFlush) {
+            dirty.remove(store);
+            last = submitWrite(store, capture(store));
+        }
+
+        await(last);
+    }
+
+    /**
+     * Writes every dirty registered store and blocks until done.
+     * Called on shutdown.
+     */
+    public void flush() {
+        List<PersistentStore> pending = new ArrayList<>();
+        for (PersistentStore store : stores) {
+            if (dirty.contains(store)) {
+                pending.add(store);
+            }
+        }
+
+        // Stores that are not registered (e.g. shards) are written too
+        for (PersistentStore store : dirty) {
+            if (!pending.contains(store)) {
+                pending.add(store);
+            }
+        }
+
+        flush(pending);
+    }
+
+    /**
+     * Blocks until all queued writes are done.
+     */
+    public void awaitWrites() {
+        await(writer.submit(() -> {
+        }));
+    }
+
+    /**
+     * Runs a task on the writer thread.
+     *
+     * @param task The task
+     * @return The task's future
+     */
+    public Future<?> submit(Runnable task) {
+        return writer.submit(task);
+    }
+
+    /**
+     * Runs a task on the writer thread periodically.
+     *
+     * @param task     The task
+     * @param interval The interval
+     * @param unit     The interval unit
+     */
+    public void scheduleAtFixedRate(Runnable task, long interval, TimeUnit unit) {
+        writer.scheduleAtFixedRate(task, interval, interval, unit);
+    }
+
+    /**
+     * Writes a file through a temporary sibling and an atomic rename,
+     * creating parent directories as needed. Announces the write to the
+     * {@link ConfigWatcher} so it is not picked up as an external change.
+     *
+     * @param target  The file to write
+     * @param content The content
+     * @throws IOException If writing fails
+     */
+    public void writeAtomically(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        ConfigWatcher.getInstance().recordWrite(target, content);
+        Files.write(temp, content);
+
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes a file on the writer thread with {@link #writeAtomically} and
+     * reports the result on the game thread.
+     *
+     * @param target  The file to write
+     * @param content The content
+     * @param onDone  Receives true if the file was written (game thread)
+     */
+    public void writeAsync(Path target, byte[] content, Consumer<Boolean> onDone) {
+        writer.submit(() -> {
+            boolean success = false;
+
+            try {
+                writeAtomically(target, content);
+                success = true;
+            } catch (Exception e) {
+                logger.error("Failed to write " + target.getFileName(), e);
+            } finally {
+                boolean result = success;
+                Minecraft.getInstance().execute(() -> onDone.accept(result));
+            }
+        });
+    }
+
+    /**
+     * Captures all dirty stores on the game thread and queues their writes.
+     */
+    private void flushDirty() {
+        flushScheduled.set(false);
+
+        for (PersistentStore store : new ArrayList<>(dirty)) {
+            flushAsync(store);
+        }
+    }
+
+    private byte[] capture(PersistentStore store) {
+        try {
+            return store.capture();
+        } catch (Exception e) {
+            logger.error("Failed to encode " + store.getPath().getFileName(), e);
+            return null;
+        }
+    }
+
+    private Future<?> submitWrite(PersistentStore store, byte[] content) {
+        if (content == null) {
+            return null;
+        }
+
+        return writer.submit(() -> {
+            boolean success = false;
+
+            try {
+                writeAtomically(store.getPath(), content);
+                success = true;
+            } catch (Exception e) {
+                logger.error("Failed to write " + store.getPath().getFileName(), e);
+            } finally {
+                // Always runs, so a store never stays stuck waiting for its write
+                store.onWritten(success);
+            }
+        });
+    }
+
+    private void await(Future<?> future) {
+        if (future == null) {
+            return;
+        }
+
+        try {
+            future.get();
+        } catch (Exception e) {
+            logger.error("Failed to wait for config writes", e);
+        }
+    }
+}
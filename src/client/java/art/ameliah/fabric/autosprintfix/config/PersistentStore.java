@@ -0,0 +1,34 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A file managed by the {@link PersistenceService}.
+ */
+public interface PersistentStore {
+
+    /**
+     * Gets the file this store is written to.
+     *
+     * @return The target file
+     */
+    Path getPath();
+
+    /**
+     * Encodes the current state. Called on the thread that flushes the
+     * store (the game thread for background flushes).
+     *
+     * @return The file content, or null to skip this write
+     * @throws IOException If encoding fails
+     */
+    byte[] capture() throws IOException;
+
+    /**
+     * Called on the writer thread after a captured state was written.
+     *
+     * @param success Whether the file was written
+     */
+    default void onWritten(boolean success) {
+    }
+}
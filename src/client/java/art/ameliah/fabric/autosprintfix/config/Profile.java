@@ -0,0 +1,231 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import art.ameliah.fabric.autosprintfix.core.module.Module;
+import art.ameliah.fabric.autosprintfix.core.module.settings.Setting;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable, named snapshot of every module's enabled state, keybind
+ * and settings.
+ *
+ * Profiles share unchanged {@link ModuleState}s: deriving a profile from
+ * another only creates new states for the modules that differ, so
+ * switching between related profiles can skip every shared module by
+ * reference comparison.
+ */
+public final class Profile {
+
+    // Profile name
+    private final String name;
+
+    // State per module name
+    private final Map<String, ModuleState> modules;
+
+    /**
+     * Immutable configuration of a single module.
+     */
+    public static final class ModuleState {
+
+        // Whether the module is enabled
+        private final boolean enabled;
+
+        // The module's keybind
+        private final int keyBind;
+
+        // Serialized setting values by setting name
+        private final Map<String, String> settings;
+
+        private ModuleState(boolean enabled, int keyBind, Map<String, String> settings) {
+            this.enabled = enabled;
+            this.keyBind = keyBind;
+            this.settings = Collections.unmodifiableMap(settings);
+        }
+
+        /**
+         * Captures the live state of a module.
+         *
+         * @param module The module
+         * @return The captured state
+         */
+        public static ModuleState capture(Module module) {
+            Map<String, String> settings = new LinkedHashMap<>();
+            for (Setting<?> setting : module.getSettings()) {
+                settings.put(setting.getName(), setting.serialize());
+            }
+            return new ModuleState(module.isEnabled(), module.getKeyBind(), settings);
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getKeyBind() {
+            return keyBind;
+        }
+
+        public Map<String, String> getSettings() {
+            return settings;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ModuleState other)) {
+                return false;
+            }
+            return enabled == other.enabled && keyBind == other.keyBind && settings.equals(other.settings);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(enabled, keyBind, settings);
+        }
+    }
+
+    private Profile(String name, Map<String, ModuleState> modules) {
+        this.name = name;
+        this.modules = Collections.unmodifiableMap(modules);
+    }
+
+    /**
+     * Captures the live state of the given modules.
+     * States equal to those in {@code base} reuse the base's instances.
+     *
+     * @param name    The profile name
+     * @param modules The modules to capture
+     * @param base    Profile to share unchanged states with, or null
+     * @return The captured profile
+     */
+    public static Profile capture(String name, Collection<Module> modules, Profile base) {
+        Map<String, ModuleState> states = new LinkedHashMap<>();
+
+        for (Module module : modules) {
+            states.put(module.getName(), share(ModuleState.capture(module), base, module.getName()));
+        }
+
+        return new Profile(name, states);
+    }
+
+    /**
+     * Creates a copy with the given modules re-captured from their live
+     * state. All other module states are shared with this profile.
+     *
+     * @param changed The modules to re-capture
+     * @return The updated profile
+     */
+    public Profile withModules(Collection<Module> changed) {
+        Map<String, ModuleState> states = new LinkedHashMap<>(modules);
+
+        for (Module module : changed) {
+            states.put(module.getName(), share(ModuleState.capture(module), this, module.getName()));
+        }
+
+        return new Profile(name, states);
+    }
+
+    /**
+     * Creates a copy under another name, sharing every module state.
+     *
+     * @param newName The new name
+     * @return The renamed profile
+     */
+    public Profile withName(String newName) {
+        return new Profile(newName, modules);
+    }
+
+    /**
+     * Replaces module states by canonical instances from a pool, so equal
+     * states of different profiles are shared.
+     *
+     * @param pool Canonical states
+     * @return The interned profile
+     */
+    public Profile intern(Map<ModuleState, ModuleState> pool) {
+        Map<String, ModuleState> states = new LinkedHashMap<>();
+
+        for (Map.Entry<String, ModuleState> entry : modules.entrySet()) {
+            states.put(entry.getKey(), pool.computeIfAbsent(entry.getValue(), state -> state));
+        }
+
+        return new Profile(name, states);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, ModuleState> getModules() {
+        return modules;
+    }
+
+    /**
+     * Encodes the profile in the binary snapshot format
+     * (readable by {@link ModuleBinaryCodec#readSnapshot(BinaryConfigReader)}).
+     *
+     * @return The encoded profile
+     */
+    public byte[] encode() {
+        BinaryConfigWriter out = new BinaryConfigWriter();
+
+        out.writeVarInt(modules.size());
+
+        for (Map.Entry<String, ModuleState> entry : modules.entrySet()) {
+            ModuleState state = entry.getValue();
+
+            out.writeSymbol(entry.getKey());
+            out.writeBoolean(state.enabled);
+            out.writeZigZag(state.keyBind);
+            out.writeVarInt(state.settings.size());
+
+            for (Map.Entry<String, String> setting : state.settings.entrySet()) {
+                out.writeSymbol(setting.getKey());
+                out.writeValue(setting.getValue());
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a profile written by {@link #encode()}.
+     *
+     * @param name    The profile name
+     * @param content The encoded profile
+     * @return The decoded profile
+     * @throws IOException If the content is malformed
+     */
+    public static Profile decode(String name, ByteBuffer content) throws IOException {
+        ConfigSnapshot snapshot = ModuleBinaryCodec.readSnapshot(new BinaryConfigReader(content));
+        Map<String, ModuleState> states = new LinkedHashMap<>();
+
+        for (Map.Entry<String, ConfigSnapshot.ModuleState> entry : snapshot.getModules().entrySet()) {
+            ConfigSnapshot.ModuleState state = entry.getValue();
+
+            states.put(entry.getKey(), new ModuleState(
+                    Boolean.TRUE.equals(state.getEnabled()),
+                    state.getKeyBind() != null ? state.getKeyBind() : -1,
+                    new LinkedHashMap<>(state.getSettings())));
+        }
+
+        return new Profile(name, states);
+    }
+
+    private static ModuleState share(ModuleState state, Profile base, String moduleName) {
+        if (base != null) {
+            ModuleState previous = base.modules.get(moduleName);
+            if (state.equals(previous)) {
+                return previous;
+            }
+        }
+        return state;
+    }
+}
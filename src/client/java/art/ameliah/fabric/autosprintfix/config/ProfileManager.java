@@ -0,0 +1,491 @@
+package art.ameliah.fabric.autosprintfix.config;
+
+import art.ameliah.fabric.autosprintfix.core.event.EventBus;
+import art.ameliah.fabric.autosprintfix.core.event.Listener;
+import art.ameliah.fabric.autosprintfix.core.event.events.KeyPressEvent;
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+import art.ameliah.fabric.autosprintfix.core.module.Module;
+import art.ameliah.fabric.autosprintfix.core.module.ModuleManager;
+import art.ameliah.fabric.autosprintfix.core.module.settings.Setting;
+import art.ameliah.fabric.autosprintfix.core.module.settings.SettingChangeBatch;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.chat.Component;
+import org.lwjgl.glfw.GLFW;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Manages named config profiles (e.g. "duels", "crystal", "survival").
+ *
+ * Each profile is an immutable {@link Profile} snapshot. The active profile
+ * follows edits made while it is active: changed modules are tracked and
+ * folded into a new snapshot (copy-on-write) before switching. Switching
+ * swaps the active snapshot and applies only the module states that are
+ * not shared with the target profile; the result is persisted once in the
+ * background.
+ *
+ * Profiles are stored in config/AutoSprintFix/profiles/ as one binary file
+ * per profile plus index.json (active profile and hotkeys).
+ */
+public class ProfileManager {
+
+    // Singleton instance
+    private static ProfileManager instance;
+
+    // Profiles directory
+    private final File profilesDir;
+
+    // Profiles by name (sorted for listing)
+    private final Map<String, Profile> profiles = new TreeMap<>();
+
+    // Profile hotkeys by profile name
+    private final Map<String, Integer> hotkeys = new TreeMap<>();
+
+    // Active profile (null until one is saved or loaded)
+    private final AtomicReference<Profile> active = new AtomicReference<>();
+
+    // Modules changed since the active profile was last captured
+    private final Set<Module> changedModules = new LinkedHashSet<>();
+
+    // Store per profile file
+    private final Map<String, PersistentStore> profileStores = new HashMap<>();
+
+    // Store for the profile index
+    private final PersistentStore indexStore;
+
+    // Shared persistence engine
+    private final PersistenceService persistence;
+
+    // Logger reference
+    private final ModLogger logger;
+
+    /**
+     * Private constructor for singleton pattern.
+     */
+    private ProfileManager() {
+        this.persistence = PersistenceService.getInstance();
+        this.logger = ModLogger.getInstance();
+        this.profilesDir = persistence.getConfigDir().resolve("profiles").toFile();
+
+        this.indexStore = new PersistentStore() {
+            @Override
+            public Path getPath() {
+                return new File(profilesDir, "index.json").toPath();
+            }
+
+            @Override
+            public byte[] capture() throws IOException {
+                return writeIndex().getBytes(StandardCharsets.UTF_8);
+            }
+        };
+        persistence.register(indexStore);
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return The ProfileManager instance
+     */
+    public static ProfileManager getInstance() {
+        if (instance == null) {
+            instance = new ProfileManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Loads all profiles and registers the profile hotkeys.
+     * Should be called after the module config is loaded.
+     */
+    public void load() {
+        EventBus.getInstance().register(this);
+
+        File[] files = profilesDir.listFiles((dir, name) -> name.endsWith(".bin"));
+        if (files != null) {
+            // Equal module states of different profiles share one instance
+            Map<Profile.ModuleState, Profile.ModuleState> pool = new HashMap<>();
+
+            for (File file : files) {
+                String name = file.getName().substring(0, file.getName().length() - 4);
+
+                try {
+                    Profile profile = Profile.decode(name, ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+                    profiles.put(name, profile.intern(pool));
+                } catch (IOException e) {
+                    logger.error("Failed to load profile " + name, e);
+                }
+            }
+        }
+
+        String activeName = readIndex();
+        if (activeName != null && profiles.containsKey(activeName)) {
+            // The live config was saved while this profile was active. Only re-capture
+            // modules that may differ from the stored state, so lazily loaded settings stay unread
+            Profile stored = profiles.get(activeName);
+            List<Module> live = new ArrayList<>();
+
+            for (Module module : ModuleManager.getInstance().getModules()) {
+                Profile.ModuleState state = stored.getModules().get(module.getName());
+
+                if (module.isSettingsLoaded() || state == null
+                        || state.isEnabled() != module.isEnabled() || state.getKeyBind() != module.getKeyBind()) {
+                    live.add(module);
+                }
+            }
+
+            active.set(stored.withModules(live));
+            profiles.put(activeName, active.get());
+        }
+
+        logger.info("Loaded {} profile(s)", profiles.size());
+    }
+
+    /**
+     * Called when a module's config changes outside a profile switch.
+     *
+     * @param module The changed module
+     */
+    public void onModuleChanged(Module module) {
+        if (active.get() != null) {
+            changedModules.add(module);
+        }
+    }
+
+    /**
+     * Saves the live configuration as a profile and makes it active.
+     *
+     * @param name The profile name
+     */
+    public void saveProfile(String name) {
+        syncActive();
+
+        Profile base = profiles.containsKey(name) ? profiles.get(name) : active.get();
+        Profile profile = Profile.capture(name, ModuleManager.getInstance().getModules(), base);
+
+        profiles.put(name, profile);
+        active.set(profile);
+        changedModules.clear();
+
+        persistence.markDirty(profileStore(name));
+        persistence.markDirty(indexStore);
+    }
+
+    /**
+     * Switches to a profile, applying only the values that differ from the
+     * current configuration.
+     *
+     * @param name The profile name
+     * @return The number of changed values, or -1 if the profile does not exist
+     */
+    public int switchTo(String name) {
+        Profile target = profiles.get(name);
+        if (target == null) {
+            return -1;
+        }
+
+        syncActive();
+
+        Profile current = active.get();
+        if (current == null) {
+            // No baseline yet; diff against the live state
+            current = Profile.capture("", ModuleManager.getInstance().getModules(), target);
+        }
+
+        List<Module> touched = new ArrayList<>();
+        int[] changes = {0};
+        Profile from = current;
+
+        // Subscribers see the switch as one change per setting
+        SettingChangeBatch.run(() -> ConfigManager.getInstance().applyBatch(touched, () -> {
+            for (Map.Entry<String, Profile.ModuleState> entry : target.getModules().entrySet()) {
+                Profile.ModuleState to = entry.getValue();
+                Profile.ModuleState previous = from.getModules().get(entry.getKey());
+
+                // Shared state: nothing to do for this module
+                if (to == previous) {
+                    continue;
+                }
+
+                Module module = ModuleManager.getInstance().getModule(entry.getKey());
+                if (module == null) {
+                    continue;
+                }
+
+                int applied = apply(module, previous, to);
+                if (applied > 0) {
+                    touched.add(module);
+                    changes[0] += applied;
+                }
+            }
+        }));
+
+        active.set(target);
+        changedModules.clear();
+        persistence.markDirty(indexStore);
+
+        logger.info("Switched to profile {} ({} change(s))", name, changes[0]);
+        return changes[0];
+    }
+
+    /**
+     * Deletes a profile.
+     *
+     * @param name The profile name
+     * @return true if the profile existed
+     */
+    public boolean deleteProfile(String name) {
+        if (profiles.remove(name) == null) {
+            return false;
+        }
+
+        hotkeys.remove(name);
+
+        Profile current = active.get();
+        if (current != null && current.getName().equals(name)) {
+            active.set(null);
+            changedModules.clear();
+        }
+
+        PersistentStore store = profileStores.remove(name);
+        if (store != null) {
+            persistence.submit(() -> {
+                try {
+                    Files.deleteIfExists(store.getPath());
+                } catch (IOException e) {
+                    logger.error("Failed to delete profile " + name, e);
+                }
+            });
+        }
+
+        persistence.markDirty(indexStore);
+        return true;
+    }
+
+    /**
+     * Binds a hotkey that switches to a profile.
+     *
+     * @param name    The profile name
+     * @param keyCode The GLFW key code, or -1 to unbind
+     * @return true if the profile exists
+     */
+    public boolean setHotkey(String name, int keyCode) {
+        if (!profiles.containsKey(name)) {
+            return false;
+        }
+
+        if (keyCode == -1) {
+            hotkeys.remove(name);
+        } else {
+            hotkeys.put(name, keyCode);
+        }
+
+        persistence.markDirty(indexStore);
+        return true;
+    }
+
+    /**
+     * Gets the profile names.
+     *
+     * @return Sorted profile names
+     */
+    public Set<String> getProfileNames() {
+        return Collections.unmodifiableSet(profiles.keySet());
+    }
+
+    /**
+     * Gets the active profile name.
+     *
+     * @return The active profile name, or null
+     */
+    public String getActiveName() {
+        Profile current = active.get();
+        return current != null ? current.getName() : null;
+    }
+
+    /**
+     * Switches profiles with their hotkeys.
+     * Only processes hotkeys when no screen is open.
+     *
+     * @param event The key press event
+     */
+    @Listener
+    public void onKeyPress(KeyPressEvent event) {
+        if (event.action != GLFW.GLFW_PRESS || hotkeys.isEmpty()) {
+            return;
+        }
+
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.screen != null) {
+            return;
+        }
+
+        for (Map.Entry<String, Integer> entry : hotkeys.entrySet()) {
+            if (entry.getValue() == event.keyCode) {
+                switchTo(entry.getKey());
+                mc.gui.setOverlayMessage(Component.literal("§aProfile: §f" + entry.getKey()), false);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Folds modules changed since the last capture into the active profile.
+     */
+    private void syncActive() {
+        Profile current = active.get();
+        if (current == null || changedModules.isEmpty()) {
+            return;
+        }
+
+        Profile updated = current.withModules(changedModules);
+        changedModules.clear();
+
+        profiles.put(updated.getName(), updated);
+        active.set(updated);
+        persistence.markDirty(profileStore(updated.getName()));
+    }
+
+    /**
+     * Applies the differences between two module states.
+     *
+     * @return The number of changed values
+     */
+    private int apply(Module module, Profile.ModuleState from, Profile.ModuleState to) {
+        int changes = 0;
+
+        // Lazily loaded settings must be in memory before they are changed
+        module.ensureSettingsLoaded();
+
+        for (Map.Entry<String, String> entry : to.getSettings().entrySet()) {
+            String value = entry.getValue();
+            if (value == null || from != null && value.equals(from.getSettings().get(entry.getKey()))) {
+                continue;
+            }
+
+            Setting<?> setting = module.lookupSetting(entry.getKey());
+            if (setting != null) {
+                setting.deserialize(value);
+                setting.notifySubscribers();
+                changes++;
+            }
+        }
+
+        if (to.getKeyBind() != module.getKeyBind()) {
+            module.setKeyBind(to.getKeyBind());
+            changes++;
+        }
+
+        if (to.isEnabled() != module.isEnabled()) {
+            module.setEnabled(to.isEnabled());
+            changes++;
+        }
+
+        return changes;
+    }
+
+    private PersistentStore profileStore(String name) {
+        return profileStores.computeIfAbsent(name, key -> new PersistentStore() {
+            @Override
+            public Path getPath() {
+                return new File(profilesDir, key + ".bin").toPath();
+            }
+
+            @Override
+            public byte[] capture() {
+                Profile profile = profiles.get(key);
+                return profile != null ? profile.encode() : null;
+            }
+        });
+    }
+
+    private String writeIndex() throws IOException {
+        StringWriter out = new StringWriter();
+
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.setIndent("  ");
+            writer.beginObject();
+
+            Profile current = active.get();
+            if (current != null) {
+                writer.name("active").value(current.getName());
+            }
+
+            writer.name("hotkeys");
+            writer.beginObject();
+            for (Map.Entry<String, Integer> entry : hotkeys.entrySet()) {
+                writer.name(entry.getKey()).value(entry.getValue());
+            }
+            writer.endObject();
+
+            writer.endObject();
+        }
+
+        return out.toString();
+    }
+
+    /**
+     * Reads hotkeys from the index.
+     *
+     * @return The active profile name, or null
+     */
+    private String readIndex() {
+        File file = new File(profilesDir, "index.json");
+        if (!file.exists()) {
+            return null;
+        }
+
+        String activeName = null;
+        Map<String, Integer> loadedHotkeys = new LinkedHashMap<>();
+
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))) {
+            reader.beginObject();
+
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+
+                if (key.equals("active") && reader.peek() == JsonToken.STRING) {
+                    activeName = reader.nextString();
+                } else if (key.equals("hotkeys") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        loadedHotkeys.put(reader.nextName(), reader.nextInt());
+                    }
+                    reader.endObject();
+                } else {
+                    reader.skipValue();
+                }
+            }
+
+            reader.endObject();
+        } catch (Exception e) {
+            logger.error("Failed to read profile index", e);
+        }
+
+        loadedHotkeys.forEach((name, key) -> {
+            if (profiles.containsKey(name)) {
+                hotkeys.put(name, key);
+            }
+        });
+
+        return activeName;
+    }
+}
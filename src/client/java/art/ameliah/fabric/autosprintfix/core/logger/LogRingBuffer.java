@@ -0,0 +1,143 @@
+package art.ameliah.fabric.autosprintfix.core.logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer queue of log records.
+ *
+ * Records are stored in preallocated parallel arrays, so publishing a
+ * record only claims a slot and copies references. Each slot carries a
+ * sequence number: producers claim slots with a CAS on the tail and
+ * publish by advancing the slot's sequence; the single consumer reads
+ * slots in order and releases them for the next lap.
+ */
+final class LogRingBuffer {
+
+    // Slot count (power of two)
+    private final int capacity;
+
+    // Index mask for the slot arrays
+    private final int mask;
+
+    // Per-slot sequence numbers
+    private final AtomicLongArray sequences;
+
+    // Next position to claim
+    private final AtomicLong tail = new AtomicLong();
+
+    // Next position to read (consumer only)
+    private long head;
+
+    // Record fields
+    private final long[] timestamps;
+    private final ModLogger.Level[] levels;
+    private final String[] messages;
+    private final Object[][] args;
+    private final Throwable[] throwables;
+
+    /**
+     * Creates a ring buffer.
+     *
+     * @param requestedCapacity Minimum number of slots (rounded up to a power of two)
+     */
+    LogRingBuffer(int requestedCapacity) {
+        this.capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+
+        this.timestamps = new long[capacity];
+        this.levels = new ModLogger.Level[capacity];
+        this.messages = new String[capacity];
+        this.args = new Object[capacity][];
+        this.throwables = new Throwable[capacity];
+    }
+
+    /**
+     * Publishes a record. Safe to call from any thread.
+     *
+     * @return false if the buffer is full
+     */
+    boolean offer(long timestamp, ModLogger.Level level, String message, Object[] messageArgs, Throwable throwable) {
+        long position;
+        int index;
+
+        while (true) {
+            position = tail.get();
+            index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                // The consumer has not released this slot yet
+                return false;
+            }
+        }
+
+        timestamps[index] = timestamp;
+        levels[index] = level;
+        messages[index] = message;
+        args[index] = messageArgs;
+        throwables[index] = throwable;
+
+        // Publish to the consumer
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Reads up to {@code max} records in publication order.
+     * Consumer thread only.
+     *
+     * @param consumer Receives each record
+     * @param max      Maximum number of records
+     * @return The number of records read
+     */
+    int drain(RecordConsumer consumer, int max) {
+        int count = 0;
+
+        while (count < max) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+
+            consumer.accept(timestamps[index], levels[index], messages[index], args[index], throwables[index]);
+
+            // Drop references and release the slot for the next lap
+            messages[index] = null;
+            args[index] = null;
+            throwables[index] = null;
+            sequences.lazySet(index, head + capacity);
+
+            head++;
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Checks if no published record is waiting. Consumer thread only.
+     *
+     * @return true if empty
+     */
+    boolean isEmpty() {
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    /**
+     * Receives drained records.
+     */
+    @FunctionalInterface
+    interface RecordConsumer {
+        void accept(long timestamp, ModLogger.Level level, String message, Object[] args, Throwable throwable);
+    }
+}
@@ -0,0 +1,148 @@
+package art.ameliah.fabric.autosprintfix.core.logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archives rotated log files.
+ *
+ * A rotated file is renamed to {@code <base>-<timestamp>.log} right away
+ * and compressed to {@code .log.gz} on a background thread, which also
+ * deletes the oldest archives beyond the retention count. Renaming is the
+ * only work done by the caller.
+ */
+final class LogRotator {
+
+    // Directory holding the log and its archives
+    private final File logsDir;
+
+    // Log file name without extension (e.g. "AutoSprintFix")
+    private final String baseName;
+
+    // Number of archives to keep
+    private final int retention;
+
+    // Background compression thread
+    private final ExecutorService compressor;
+
+    /**
+     * Creates a rotator.
+     *
+     * @param logsDir   The logs directory
+     * @param baseName  The log file name without extension
+     * @param retention Number of archives to keep
+     */
+    LogRotator(File logsDir, String baseName, int retention) {
+        this.logsDir = logsDir;
+        this.baseName = baseName;
+        this.retention = Math.max(0, retention);
+
+        this.compressor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "AutoSprintFix Log Compressor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Archives a log file if it has content. The file no longer exists
+     * afterwards unless renaming failed.
+     *
+     * @param logFile The log file
+     */
+    void archive(File logFile) {
+        if (!logFile.isFile() || logFile.length() == 0) {
+            return;
+        }
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(logFile.lastModified()));
+        File target = new File(logsDir, baseName + "-" + timestamp + ".log");
+        for (int i = 1; target.exists() || new File(target.getPath() + ".gz").exists(); i++) {
+            target = new File(logsDir, baseName + "-" + timestamp + "-" + i + ".log");
+        }
+
+        try {
+            Files.move(logFile.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("[AutoSprintFix] Failed to rotate log: " + e.getMessage());
+            return;
+        }
+
+        compressor.execute(this::compressPending);
+    }
+
+    /**
+     * Compresses archives left uncompressed (e.g. by a crash) and applies
+     * the retention count, in the background.
+     */
+    void compressPendingAsync() {
+        compressor.execute(this::compressPending);
+    }
+
+    /**
+     * Stops the compression thread after queued work is done.
+     */
+    void shutdown() {
+        compressor.shutdown();
+    }
+
+    private void compressPending() {
+        File[] pending = logsDir.listFiles((dir, name) -> name.startsWith(baseName + "-") && name.endsWith(".log"));
+
+        if (pending != null) {
+            for (File file : pending) {
+                compress(file);
+            }
+        }
+
+        prune();
+    }
+
+    private void compress(File source) {
+        File target = new File(source.getPath() + ".gz");
+        File temp = new File(source.getPath() + ".gz.tmp");
+
+        try (InputStream in = Files.newInputStream(source.toPath());
+                OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp.toPath()), 64 * 1024)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            System.err.println("[AutoSprintFix] Failed to compress " + source.getName() + ": " + e.getMessage());
+            temp.delete();
+            return;
+        }
+
+        try {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            target.setLastModified(source.lastModified());
+            Files.delete(source.toPath());
+        } catch (IOException e) {
+            System.err.println("[AutoSprintFix] Failed to finish " + target.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private void prune() {
+        File[] archives = logsDir.listFiles((dir, name) -> name.startsWith(baseName + "-") && name.endsWith(".log.gz"));
+        if (archives == null || archives.length <= retention) {
+            return;
+        }
+
+        // Oldest first (archives keep the time of their last log record)
+        Arrays.sort(archives, Comparator.comparingLong(File::lastModified).thenComparing(File::getName));
+
+        for (int i = 0; i < archives.length - retention; i++) {
+            archives[i].delete();
+        }
+    }
+}
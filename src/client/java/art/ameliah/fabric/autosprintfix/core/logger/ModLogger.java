@@ -1,19 +1,56 @@
 package art.ameliah.fabric.autosprintfix.core.logger;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 /**
  * Custom logger for AutoSprintFix mod.
  * Separates mod logs from main Minecraft logs.
  * Supports formatted messages with placeholders like "{}".
+ *
+ * By default records are queued in a preallocated ring buffer and
+ * formatted and written in batches by a background thread, so logging
+ * never waits for the disk. When the buffer is full, DEBUG and INFO
+ * records are dropped (and counted) while WARN and ERROR records wait
+ * for space. Start the game with {@code -Dautosprintfix.asyncLog=false}
+ * to write every record synchronously.
+ *
+ * Records below the level threshold ({@link #setLevel(Level)}, initially
+ * {@code -Dautosprintfix.logLevel}, default DEBUG) are discarded with a
+ * single check. Use the {@link Supplier} overloads or the one- and
+ * two-argument overloads to avoid building messages that are discarded.
+ *
+ * The previous session's log and logs that exceed
+ * {@code -Dautosprintfix.logMaxSize} (bytes, default 10 MiB) are rotated
+ * to timestamped files and gzip-compressed in the background; the newest
+ * {@code -Dautosprintfix.logRetention} archives (default 10) are kept.
  */
 public class ModLogger {
 
+    // Ring buffer size (records)
+    private static final int BUFFER_CAPACITY = 8192;
+
+    // Maximum records written per batch
+    private static final int BATCH_SIZE = 256;
+
+    // Flusher sleep when the buffer is empty
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
     private static ModLogger instance;
 
     private PrintWriter writer;
@@ -22,7 +59,37 @@ public class ModLogger {
 
     private final File logFile;
 
-    private boolean initialized = false;
+    // Maximum log size before rotating (bytes)
+    private final long maxLogBytes = Long.getLong("autosprintfix.logMaxSize", 10L * 1024 * 1024);
+
+    // Archives rotated logs
+    private final LogRotator rotator;
+
+    // Bytes written to the current log file
+    private CountingOutputStream logStream;
+
+    private volatile boolean initialized = false;
+
+    // Whether records are written by the flusher thread
+    private final boolean async = Boolean.parseBoolean(System.getProperty("autosprintfix.asyncLog", "true"));
+
+    // Pending records (async mode)
+    private final LogRingBuffer buffer = new LogRingBuffer(BUFFER_CAPACITY);
+
+    // Background flusher thread (async mode)
+    private Thread flusher;
+
+    // Whether the flusher accepts records
+    private volatile boolean running = false;
+
+    // Records dropped because the buffer was full
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Reusable line builder (used under the logger lock)
+    private final StringBuilder line = new StringBuilder(256);
+
+    // Lowest level that is logged
+    private volatile Level threshold = parseLevel(System.getProperty("autosprintfix.logLevel"), Level.DEBUG);
 
     public enum Level {
         DEBUG("[DEBUG]"),
@@ -48,56 +115,239 @@ public class ModLogger {
             logsDir.mkdirs();
 
         this.logFile = new File(logsDir, "AutoSprintFix.log");
+        this.rotator = new LogRotator(logsDir, "AutoSprintFix", Integer.getInteger("autosprintfix.logRetention", 10));
+
+        // Keep the previous session's log
+        rotator.archive(logFile);
+        rotator.compressPendingAsync();
 
         initializeWriter();
     }
 
     private void initializeWriter() {
         try {
-            this.writer = new PrintWriter(new FileWriter(logFile, false), true);
+            openLogFile("Started");
             this.initialized = true;
 
-            writer.println("========================================");
-            writer.println("AutoSprintFix Log - Started: " + LocalDateTime.now().format(formatter));
-            writer.println("========================================");
-            writer.println();
+            if (async) {
+                running = true;
+                flusher = new Thread(this::runFlusher, "AutoSprintFix Logger");
+                flusher.setDaemon(true);
+                flusher.start();
+            }
         } catch (IOException e) {
             System.err.println("[AutoSprintFix] Failed to initialize logger: " + e.getMessage());
             this.initialized = false;
         }
     }
 
+    /**
+     * Opens a fresh log file and writes its header.
+     */
+    private void openLogFile(String event) throws IOException {
+        logStream = new CountingOutputStream(new FileOutputStream(logFile, false));
+        writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(logStream, StandardCharsets.UTF_8)), false);
+
+        writer.println("========================================");
+        writer.println("AutoSprintFix Log - " + event + ": " + LocalDateTime.now().format(formatter));
+        writer.println("========================================");
+        writer.println();
+        writer.flush();
+    }
+
+    /**
+     * Rotates the log file once it exceeds the size limit.
+     * Must hold the logger lock.
+     */
+    private void rotateIfNeeded() {
+        if (logStream.count < maxLogBytes) {
+            return;
+        }
+
+        writer.close();
+        rotator.archive(logFile);
+
+        try {
+            openLogFile("Continued");
+        } catch (IOException e) {
+            System.err.println("[AutoSprintFix] Failed to reopen log after rotation: " + e.getMessage());
+            initialized = false;
+        }
+    }
+
     public static ModLogger getInstance() {
         if (instance == null)
             instance = new ModLogger();
         return instance;
     }
 
-    private void log(Level level, String message, Throwable throwable) {
+    /**
+     * Sets the lowest level that is logged.
+     *
+     * @param level The threshold
+     */
+    public void setLevel(Level level) {
+        this.threshold = level;
+    }
+
+    /**
+     * Gets the lowest level that is logged.
+     *
+     * @return The threshold
+     */
+    public Level getLevel() {
+        return threshold;
+    }
+
+    /**
+     * Checks if records of a level are logged.
+     *
+     * @param level The level
+     * @return true if the level passes the threshold
+     */
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold.ordinal();
+    }
+
+    /**
+     * Checks if debug records are logged.
+     *
+     * @return true if DEBUG passes the threshold
+     */
+    public boolean isDebugEnabled() {
+        return threshold == Level.DEBUG;
+    }
+
+    private void log(Level level, String message, Object[] args, Throwable throwable) {
+        if (level.ordinal() < threshold.ordinal()) {
+            return;
+        }
+
         if (!initialized) {
-            System.out.println("[AutoSprintFix] " + level.getPrefix() + " " + message);
+            System.out.println("[AutoSprintFix] " + level.getPrefix() + " " + formatMessage(message, args));
             if (throwable != null)
                 throwable.printStackTrace();
             return;
         }
 
-        String timestamp = LocalDateTime.now().format(formatter);
-        String formattedMessage = String.format("[%s] %s %s", timestamp, level.getPrefix(), message);
-        writer.println(formattedMessage);
+        long timestamp = System.currentTimeMillis();
+
+        if (running) {
+            if (buffer.offer(timestamp, level, message, args, throwable)) {
+                return;
+            }
+
+            // Buffer full: drop low-priority records
+            if (level == Level.DEBUG || level == Level.INFO) {
+                dropped.incrementAndGet();
+                return;
+            }
+
+            // Warnings and errors wait for space
+            while (running) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+                if (buffer.offer(timestamp, level, message, args, throwable)) {
+                    return;
+                }
+            }
+        }
+
+        synchronized (this) {
+            write(timestamp, level, message, args, throwable);
+            writer.flush();
+            rotateIfNeeded();
+        }
+    }
+
+    /**
+     * Formats and writes one record. Must hold the logger lock.
+     */
+    private void write(long timestamp, Level level, String message, Object[] args, Throwable throwable) {
+        line.setLength(0);
+        line.append('[');
+        formatter.formatTo(LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault()), line);
+        line.append("] ").append(level.getPrefix()).append(' ').append(formatMessage(message, args));
+        writer.println(line);
 
         if (throwable != null) {
             throwable.printStackTrace(writer);
         }
     }
 
-    private static String formatMessage(String message, Object... args) {
-        String result = message;
-        if (args != null) {
-            for (Object arg : args) {
-                result = result.replaceFirst("\\{\\}", arg != null ? arg.toString() : "null");
+    /**
+     * Flusher loop: writes queued records in batches and flushes the file
+     * whenever the buffer runs empty.
+     */
+    private void runFlusher() {
+        while (running || !buffer.isEmpty()) {
+            int written;
+            synchronized (this) {
+                written = buffer.drain(this::write, BATCH_SIZE);
+                rotateIfNeeded();
+            }
+
+            if (written == 0) {
+                synchronized (this) {
+                    reportDropped();
+                    writer.flush();
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+
+        synchronized (this) {
+            reportDropped();
+            writer.flush();
+        }
+    }
+
+    /**
+     * Logs how many records were dropped since the last report.
+     * Must hold the logger lock.
+     */
+    private void reportDropped() {
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            write(System.currentTimeMillis(), Level.WARN,
+                    "{} log record(s) dropped (buffer full)", new Object[] { lost }, null);
+        }
+    }
+
+    /**
+     * Replaces each "{}" with the next argument in a single pass.
+     * Extra placeholders are kept, extra arguments are ignored.
+     */
+    private static String formatMessage(String message, Object[] args) {
+        if (args == null || args.length == 0 || message == null) {
+            return message;
+        }
+
+        StringBuilder result = new StringBuilder(message.length() + 16 * args.length);
+        int argIndex = 0;
+        int start = 0;
+
+        while (argIndex < args.length) {
+            int placeholder = message.indexOf("{}", start);
+            if (placeholder < 0) {
+                break;
             }
+
+            result.append(message, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
         }
-        return result;
+
+        return result.append(message, start, message.length()).toString();
+    }
+
+    private static Level parseLevel(String name, Level fallback) {
+        if (name != null) {
+            for (Level level : Level.values()) {
+                if (level.name().equalsIgnoreCase(name)) {
+                    return level;
+                }
+            }
+        }
+        return fallback;
     }
 
     // ===========================
@@ -105,35 +355,80 @@ public class ModLogger {
     // ===========================
 
     public void debug(String message) {
-        log(Level.DEBUG, message, null);
+        log(Level.DEBUG, message, null, null);
+    }
+
+    public void debug(String message, Object arg) {
+        if (isEnabled(Level.DEBUG))
+            log(Level.DEBUG, message, new Object[] { arg }, null);
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG))
+            log(Level.DEBUG, message, new Object[] { arg1, arg2 }, null);
     }
 
     public void debug(String message, Object... args) {
-        log(Level.DEBUG, formatMessage(message, args), null);
+        log(Level.DEBUG, message, args, null);
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isEnabled(Level.DEBUG))
+            log(Level.DEBUG, message.get(), null, null);
     }
 
     public void info(String message) {
-        log(Level.INFO, message, null);
+        log(Level.INFO, message, null, null);
+    }
+
+    public void info(String message, Object arg) {
+        if (isEnabled(Level.INFO))
+            log(Level.INFO, message, new Object[] { arg }, null);
+    }
+
+    public void info(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO))
+            log(Level.INFO, message, new Object[] { arg1, arg2 }, null);
     }
 
     public void info(String message, Object... args) {
-        log(Level.INFO, formatMessage(message, args), null);
+        log(Level.INFO, message, args, null);
+    }
+
+    public void info(Supplier<String> message) {
+        if (isEnabled(Level.INFO))
+            log(Level.INFO, message.get(), null, null);
     }
 
     public void warn(String message) {
-        log(Level.WARN, message, null);
+        log(Level.WARN, message, null, null);
+    }
+
+    public void warn(String message, Object arg) {
+        if (isEnabled(Level.WARN))
+            log(Level.WARN, message, new Object[] { arg }, null);
+    }
+
+    public void warn(String message, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN))
+            log(Level.WARN, message, new Object[] { arg1, arg2 }, null);
     }
 
     public void warn(String message, Object... args) {
-        log(Level.WARN, formatMessage(message, args), null);
+        log(Level.WARN, message, args, null);
+    }
+
+    public void warn(Supplier<String> message) {
+        if (isEnabled(Level.WARN))
+            log(Level.WARN, message.get(), null, null);
     }
 
     public void error(String message) {
-        log(Level.ERROR, message, null);
+        log(Level.ERROR, message, null, null);
     }
 
     public void error(String message, Throwable throwable) {
-        log(Level.ERROR, message, throwable);
+        log(Level.ERROR, message, null, throwable);
     }
 
     public void error(String message, Object... args) {
@@ -146,16 +441,62 @@ public class ModLogger {
             System.arraycopy(args, 0, logArgs, 0, args.length - 1);
         }
 
-        log(Level.ERROR, formatMessage(message, logArgs), throwable);
+        log(Level.ERROR, message, logArgs, throwable);
     }
 
+    /**
+     * Writes all queued records and closes the log file.
+     * Later records go to standard output.
+     */
     public void close() {
+        if (flusher != null) {
+            running = false;
+            LockSupport.unpark(flusher);
+
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
         if (writer != null) {
-            writer.println();
-            writer.println("========================================");
-            writer.println("AutoSprintFix Log - Ended: " + LocalDateTime.now().format(formatter));
-            writer.println("========================================");
-            writer.close();
+            initialized = false;
+
+            synchronized (this) {
+                writer.println();
+                writer.println("========================================");
+                writer.println("AutoSprintFix Log - Ended: " + LocalDateTime.now().format(formatter));
+                writer.println("========================================");
+                writer.close();
+            }
+        }
+
+        rotator.shutdown();
+    }
+
+    /**
+     * Counts the bytes written to the log file.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        // Bytes written so far
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
         }
     }
 }
@@ -5,11 +5,14 @@ import art.ameliah.fabric.autosprintfix.core.event.EventBus;
 import art.ameliah.fabric.autosprintfix.core.event.events.ModuleToggleEvent;
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 import art.ameliah.fabric.autosprintfix.core.module.settings.Setting;
+import art.ameliah.fabric.autosprintfix.core.util.CancellationGroup;
 import net.minecraft.client.Minecraft;
 import org.lwjgl.glfw.GLFW;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Base class for all modules in the mod.
@@ -38,6 +41,12 @@ public abstract class Module {
     // Module settings
     private final List<Setting<?>> settings;
 
+    // Settings keyed by exact name (config schema)
+    private final Map<String, Setting<?>> settingSchema;
+
+    // Whether persisted settings have been applied (false while lazily deferred)
+    private boolean settingsLoaded = true;
+
     // Reference to the Minecraft client
     protected final Minecraft mc;
 
@@ -47,6 +56,9 @@ public abstract class Module {
     // Reference to the event bus
     protected final EventBus eventBus;
 
+    // Tasks scheduled while enabled (cancelled on disable and session end)
+    private final CancellationGroup scheduler;
+
     /**
      * Creates a new module.
      * 
@@ -63,9 +75,11 @@ public abstract class Module {
         this.defaultKeyBind = defaultKeyBind;
         this.enabled = false;
         this.settings = new ArrayList<>();
+        this.settingSchema = new HashMap<>();
         this.mc = Minecraft.getInstance();
         this.logger = ModLogger.getInstance();
         this.eventBus = EventBus.getInstance();
+        this.scheduler = new CancellationGroup(name);
     }
 
     /**
@@ -122,14 +136,16 @@ public abstract class Module {
         this.enabled = enabled;
 
         if (enabled) {
+            ensureSettingsLoaded();
             onEnable();
             logger.info("Module enabled: " + name);
         } else {
             onDisable();
+            scheduler.cancelAll();
             logger.info("Module disabled: " + name);
         }
 
-        ConfigManager.getInstance().saveModule(this);
+        ConfigManager.getInstance().recordEnabled(this);
     }
 
     /**
@@ -144,6 +160,7 @@ public abstract class Module {
     protected <T extends Setting<?>> T addSetting(T setting) {
         setting.setModule(this);
         settings.add(setting);
+        settingSchema.put(setting.getName(), setting);
         return setting;
     }
 
@@ -153,9 +170,37 @@ public abstract class Module {
      * @return List of settings
      */
     public List<Setting<?>> getSettings() {
+        ensureSettingsLoaded();
         return settings;
     }
 
+    /**
+     * Defers reading this module's persisted settings until they are
+     * first accessed or the module is enabled.
+     */
+    public void deferSettingsLoad() {
+        settingsLoaded = false;
+    }
+
+    /**
+     * Reads this module's persisted settings if they were deferred.
+     */
+    public void ensureSettingsLoaded() {
+        if (!settingsLoaded) {
+            settingsLoaded = true;
+            ConfigManager.getInstance().loadModuleSettings(this);
+        }
+    }
+
+    /**
+     * Checks if this module's persisted settings have been applied.
+     * 
+     * @return true if the settings are loaded
+     */
+    public boolean isSettingsLoaded() {
+        return settingsLoaded;
+    }
+
     /**
      * Gets a setting by name.
      * 
@@ -163,7 +208,7 @@ public abstract class Module {
      * @return The setting, or null if not found
      */
     public Setting<?> getSetting(String name) {
-        for (Setting<?> setting : settings) {
+        for (Setting<?> setting : getSettings()) {
             if (setting.getName().equalsIgnoreCase(name)) {
                 return setting;
             }
@@ -171,6 +216,17 @@ public abstract class Module {
         return null;
     }
 
+    /**
+     * Looks up a setting by its exact name without triggering a deferred
+     * settings load. Used by the config codec while streaming.
+     * 
+     * @param name The exact setting name
+     * @return The setting, or null if not found
+     */
+    public Setting<?> lookupSetting(String name) {
+        return settingSchema.get(name);
+    }
+
     /**
      * Checks if a key matches this module's keybind.
      * 
@@ -188,6 +244,16 @@ public abstract class Module {
         setKeyBind(defaultKeyBind);
     }
 
+    /**
+     * Gets the scheduler scope of this module. Its tasks are cancelled
+     * when the module is disabled or the world session ends.
+     *
+     * @return The module's scheduler scope
+     */
+    public CancellationGroup getScheduler() {
+        return scheduler;
+    }
+
     public String getName() {
         return name;
     }
@@ -210,7 +276,7 @@ public abstract class Module {
 
     public void setKeyBind(int keyBind) {
         this.keyBind = keyBind;
-        ConfigManager.getInstance().saveModule(this);
+        ConfigManager.getInstance().recordKeyBind(this);
         logger.debug("Keybind for " + name + " set to: " + getKeyBindName());
     }
 
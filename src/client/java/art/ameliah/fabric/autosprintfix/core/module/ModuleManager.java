@@ -2,6 +2,7 @@
 package art.ameliah.fabric.autosprintfix.core.module;
 
 import art.ameliah.fabric.autosprintfix.config.ConfigManager;
+import art.ameliah.fabric.autosprintfix.config.ProfileManager;
 import art.ameliah.fabric.autosprintfix.core.event.EventBus;
 import art.ameliah.fabric.autosprintfix.core.event.Listener;
 import art.ameliah.fabric.autosprintfix.core.event.events.KeyPressEvent;
@@ -94,6 +95,9 @@ public class ModuleManager {
 
         // Load saved configuration (keybinds, enabled states)
         ConfigManager.getInstance().load();
+
+        // Load named profiles on top of the live config
+        ProfileManager.getInstance().load();
     }
 
     /**
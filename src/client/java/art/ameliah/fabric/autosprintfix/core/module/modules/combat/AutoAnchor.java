@@ -8,7 +8,7 @@ import art.ameliah.fabric.autosprintfix.core.module.Module;
 import art.ameliah.fabric.autosprintfix.core.module.ModuleCategory;
 import art.ameliah.fabric.autosprintfix.core.module.settings.BooleanSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.RangeSetting;
-import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil;
+import art.ameliah.fabric.autosprintfix.core.util.TickFuture;
 import art.ameliah.fabric.autosprintfix.core.util.BlockUtil;
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 
@@ -105,7 +105,7 @@ public class AutoAnchor extends Module {
         isBusy = false;
         initialSlot = -1;
 
-        if (debugMode.getValue()) {
+        if (debugMode.getBoolean()) {
             logger.debug("AutoAnchor {}", event.enabled ? "enabled" : "disabled");
         }
     }
@@ -154,7 +154,7 @@ public class AutoAnchor extends Module {
 
             initialSlot = currentSlot;
 
-            if (debugMode.getValue())
+            if (debugMode.getBoolean())
                 logger.debug("Initial anchor slot confirmed: {}", initialSlot);
         }
 
@@ -168,13 +168,16 @@ public class AutoAnchor extends Module {
 
             int delay = chargeDelay.getRandomValueInt();
 
-            if (debugMode.getValue())
+            if (debugMode.getBoolean())
                 logger.debug("Charging anchor at {} (delay {} ticks)", pos, delay);
 
-            AsyncUtil.delayTicks(delay, () -> {
-                inventory.setSelectedSlot(glowstoneSlot);
-                isBusy = false;
-            });
+            TickFuture.of(inventory)
+                    .thenAfterTicks(delay, inv -> {
+                        inv.setSelectedSlot(glowstoneSlot);
+                        isBusy = false;
+                    })
+                    .whenCancelled(inv -> resetCycle())
+                    .start(getScheduler());
 
         }
         // ===== CASE 2: Anchor charged → explode and revert =====
@@ -182,19 +185,28 @@ public class AutoAnchor extends Module {
 
             int delay = explodeDelay.getRandomValueInt();
 
-            if (debugMode.getValue())
+            if (debugMode.getBoolean())
                 logger.debug("Exploding anchor at {} (delay {} ticks)", pos, delay);
 
-            AsyncUtil.delayTicks(delay, () -> {
-                inventory.setSelectedSlot(initialSlot);
+            TickFuture.of(inventory)
+                    .thenAfterTicks(delay, inv -> {
+                        inv.setSelectedSlot(initialSlot);
 
-                if (debugMode.getValue())
-                    logger.debug("Reverted to initial anchor slot {}", initialSlot);
+                        if (debugMode.getBoolean())
+                            logger.debug("Reverted to initial anchor slot {}", initialSlot);
 
-                // Reset cycle
-                initialSlot = -1;
-                isBusy = false;
-            });
+                        resetCycle();
+                    })
+                    .whenCancelled(inv -> resetCycle())
+                    .start(getScheduler());
         }
     }
+
+    /**
+     * Resets the charge/explode cycle.
+     */
+    private void resetCycle() {
+        initialSlot = -1;
+        isBusy = false;
+    }
 }
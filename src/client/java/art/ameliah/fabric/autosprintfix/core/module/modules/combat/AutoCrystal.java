@@ -8,7 +8,7 @@ import art.ameliah.fabric.autosprintfix.core.module.Module;
 import art.ameliah.fabric.autosprintfix.core.module.ModuleCategory;
 import art.ameliah.fabric.autosprintfix.core.module.settings.BooleanSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.RangeSetting;
-import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil;
+import art.ameliah.fabric.autosprintfix.core.util.TickFuture;
 import art.ameliah.fabric.autosprintfix.core.util.InteractionUtil;
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 
@@ -70,11 +70,11 @@ public class AutoCrystal extends Module {
     @Listener
     protected void onToggle(ModuleToggleEvent event) {
         if (event.enabled) {
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("AutoCrystal enabled");
             }
         } else {
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("AutoCrystal disabled");
             }
         }
@@ -104,21 +104,21 @@ public class AutoCrystal extends Module {
         int delay = attackDelay.getRandomValueInt();
 
         // Debug log for chosen attack delay
-        if (debugMode.getValue()) {
+        if (debugMode.getBoolean()) {
             logger.debug("AutoCrystal attack delay: {} ticks", delay);
         }
 
         // Mark module as currently attacking to prevent overlapping attacks
         isAttacking = true;
 
-        // Schedule attack after delay using AsyncUtil
-        AsyncUtil.delayTicks(delay, () -> {
+        // Schedule attack after delay in the module scope
+        TickFuture.create().thenAfterTicks(delay, v -> {
             try {
                 // Simulate the attack on the targeted crystal
                 InteractionUtil.attack(true, 0);
             } catch (Exception e) {
                 // Log any exceptions during attack simulation
-                if (debugMode.getValue()) {
+                if (debugMode.getBoolean()) {
                     logger.error("AutoCrystal failed to attack: {}", e);
                 }
             } finally {
@@ -126,10 +126,10 @@ public class AutoCrystal extends Module {
                 isAttacking = false;
 
                 // Debug log for attack completion
-                if (debugMode.getValue()) {
+                if (debugMode.getBoolean()) {
                     logger.debug("AutoCrystal: Simulated attack on {}", targetedEntity.getType());
                 }
             }
-        });
+        }).whenCancelled(v -> isAttacking = false).start(getScheduler());
     }
 }
@@ -12,10 +12,9 @@ import art.ameliah.fabric.autosprintfix.core.event.events.ModuleToggleEvent;
 import art.ameliah.fabric.autosprintfix.core.module.settings.RangeSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.BooleanSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.NumberSetting;
-import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil;
-import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil.Token;
 import art.ameliah.fabric.autosprintfix.core.util.InteractionUtil;
 import art.ameliah.fabric.autosprintfix.core.util.ItemUtil;
+import art.ameliah.fabric.autosprintfix.core.util.TickFuture;
 
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 
@@ -27,6 +26,7 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
+import net.minecraft.world.item.enchantment.Enchantments;
 
 /**
  * AutoWeapon
@@ -58,7 +58,6 @@ public class AutoWeapon extends Module {
     private boolean lastAttackDown = false; // Tracks attack key state
     private boolean isAttacking = false; // Prevents re-entry during swaps
     private long lastShieldDetectionTime = 0; // Grace window for shield prediction
-    private Token swapBackToken; // Scheduled swap-back task
 
     public AutoWeapon() {
         super(
@@ -89,40 +88,47 @@ public class AutoWeapon extends Module {
     @Listener
     protected void onToggle(ModuleToggleEvent event) {
         if (event.enabled) {
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("AutoWeapon enabled");
             }
         } else {
             this.lastAttackDown = false;
             this.isAttacking = false;
 
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("AutoWeapon disabled");
             }
         }
     }
 
     /**
-     * Schedules returning to the original hotbar slot.
+     * Ends a swap sequence by returning to the original hotbar slot,
+     * also if the sequence is cancelled, and starts it in the module scope.
      *
-     * @param inventory    Player inventory
+     * @param sequence     Swap steps to run before returning
      * @param originalSlot Slot to return to
      */
-    private void scheduleSwapBack(Inventory inventory, int originalSlot) {
-        if (this.swapBackToken != null) {
-            this.swapBackToken.cancel();
-        }
-
+    private void scheduleSwapBack(TickFuture<Inventory> sequence, int originalSlot) {
         int delay = swapBackDelay.getRandomValueInt();
 
-        if (debugMode.getValue()) {
+        if (debugMode.getBoolean()) {
             logger.debug("AutoWeapon swap-back delay: {}", delay);
         }
 
-        this.swapBackToken = AsyncUtil.delayTicks(delay, () -> {
-            inventory.setSelectedSlot(originalSlot);
-            this.isAttacking = false;
-        });
+        sequence.thenAfterTicks(delay, inventory -> swapBack(inventory, originalSlot))
+                .whenCancelled(inventory -> swapBack(inventory, originalSlot))
+                .start(getScheduler());
+    }
+
+    /**
+     * Returns to the original hotbar slot and ends the attack.
+     *
+     * @param inventory    Player inventory
+     * @param originalSlot Slot to return to
+     */
+    private void swapBack(Inventory inventory, int originalSlot) {
+        inventory.setSelectedSlot(originalSlot);
+        this.isAttacking = false;
     }
 
     /**
@@ -144,7 +150,7 @@ public class AutoWeapon extends Module {
                     || stack.getItem() == Items.STONE_AXE
                     || stack.getItem() == Items.WOODEN_AXE) {
 
-                int sharpness = ItemUtil.getEnchantment(stack, "sharpness");
+                int sharpness = ItemUtil.getEnchantment(stack, Enchantments.SHARPNESS);
 
                 if (sharpness > bestSharpness) {
                     bestSharpness = sharpness;
@@ -179,8 +185,8 @@ public class AutoWeapon extends Module {
                 if (anyMaceSlot == -1)
                     anyMaceSlot = slot;
 
-                int density = ItemUtil.getEnchantment(stack, "density");
-                int breach = ItemUtil.getEnchantment(stack, "breach");
+                int density = ItemUtil.getEnchantment(stack, Enchantments.DENSITY);
+                int breach = ItemUtil.getEnchantment(stack, Enchantments.BREACH);
 
                 if (density > densityLevel) {
                     densityLevel = density;
@@ -240,7 +246,7 @@ public class AutoWeapon extends Module {
         this.isAttacking = true;
 
         inventory.setSelectedSlot(maceSlot);
-        scheduleSwapBack(inventory, originalSlot);
+        scheduleSwapBack(TickFuture.of(inventory), originalSlot);
     }
 
     /**
@@ -280,7 +286,7 @@ public class AutoWeapon extends Module {
             }
         }
 
-        boolean doStunSlam = stunSlam.getValue()
+        boolean doStunSlam = stunSlam.getBoolean()
                 && isBlockingVisible
                 && axeSlot != -1
                 && maceSlot != -1;
@@ -289,25 +295,24 @@ public class AutoWeapon extends Module {
             inventory.setSelectedSlot(axeSlot);
             InteractionUtil.attack(true, 0);
 
-            AsyncUtil.delayTicks(1, () -> {
-                inventory.setSelectedSlot(maceSlot);
-                InteractionUtil.attack(true, 0);
+            // Mace hits on the next tick, then swap back
+            TickFuture<Inventory> slam = TickFuture.of(inventory).thenAfterTicks(1, inv -> {
+                inv.setSelectedSlot(maceSlot);
                 InteractionUtil.attack(true, 0);
-
-                scheduleSwapBack(inventory, originalSlot);
             });
 
+            scheduleSwapBack(slam, originalSlot);
+
         } else {
-            int slotToUse = (shieldBreaker.getValue() && isBlockingVisible) ? axeSlot
-                    : (maceSwap.getValue() ? maceSlot : -1);
+            int slotToUse = (shieldBreaker.getBoolean() && isBlockingVisible) ? axeSlot
+                    : (maceSwap.getBoolean() ? maceSlot : -1);
 
             if (slotToUse != -1 && slotToUse != originalSlot) {
                 inventory.setSelectedSlot(slotToUse);
                 InteractionUtil.attack(true, 0);
-                InteractionUtil.attack(true, 0);
             }
 
-            scheduleSwapBack(inventory, originalSlot);
+            scheduleSwapBack(TickFuture.of(inventory), originalSlot);
         }
     }
 }
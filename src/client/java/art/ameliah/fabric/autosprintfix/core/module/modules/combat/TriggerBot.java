@@ -10,12 +10,12 @@ import art.ameliah.fabric.autosprintfix.core.event.events.TickEvent;
 import art.ameliah.fabric.autosprintfix.core.event.events.ModuleToggleEvent;
 
 import art.ameliah.fabric.autosprintfix.core.module.settings.BooleanSetting;
+import art.ameliah.fabric.autosprintfix.core.module.settings.EntityTypeSetSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.RangeSetting;
-import art.ameliah.fabric.autosprintfix.core.module.settings.StringSetting;
 
 import art.ameliah.fabric.autosprintfix.core.util.InteractionUtil;
-import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil;
 import art.ameliah.fabric.autosprintfix.core.util.FriendsManager;
+import art.ameliah.fabric.autosprintfix.core.util.TickFuture;
 
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 
@@ -58,7 +58,7 @@ public class TriggerBot extends Module {
     private final RangeSetting cooldownRange; // Attack cooldown percent range
     private final BooleanSetting preferCrits; // Only attack while falling
     private final BooleanSetting debugMode; // Debug logging
-    private final StringSetting blacklist; // Entity blacklist
+    private final EntityTypeSetSetting blacklist; // Entity blacklist
 
     /* ================= STATE ================= */
 
@@ -88,7 +88,7 @@ public class TriggerBot extends Module {
                 "Enable debug logging",
                 false));
 
-        this.blacklist = addSetting(new StringSetting(
+        this.blacklist = addSetting(new EntityTypeSetSetting(
                 "Blacklist",
                 "Comma separated entity ids to ignore",
                 "wind_charge, end_crystal"));
@@ -101,14 +101,14 @@ public class TriggerBot extends Module {
     @Listener
     protected void onToggle(ModuleToggleEvent event) {
         if (event.enabled) {
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("TriggerBot enabled");
             }
         } else {
             lockedTarget = null;
             isAttacking = false;
 
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("TriggerBot disabled");
             }
         }
@@ -128,18 +128,7 @@ public class TriggerBot extends Module {
         if (entity == null)
             return true;
 
-        String raw = blacklist.getValue();
-        if (raw == null || raw.isEmpty())
-            return false;
-
-        String type = entity.getType().toString().toLowerCase();
-
-        for (String s : raw.split(",")) {
-            if (type.contains(s.trim().toLowerCase()))
-                return true;
-        }
-
-        return false;
+        return blacklist.contains(entity);
     }
 
     /**
@@ -313,7 +302,7 @@ public class TriggerBot extends Module {
                 return;
         }
 
-        if (preferCrits.getValue()) {
+        if (preferCrits.getBoolean()) {
             if (player.getDeltaMovement().y >= 0)
                 return;
         }
@@ -330,11 +319,20 @@ public class TriggerBot extends Module {
         isAttacking = true;
 
         mc.execute(() -> {
+            if (!isEnabled()) {
+                isAttacking = false;
+                return;
+            }
+
             InteractionUtil.attack(true, 0);
 
-            AsyncUtil.delayTicks(6, () -> isAttacking = false);
+            // Scoped to the module: cancelled on disable and session end
+            TickFuture.create()
+                    .thenAfterTicks(6, v -> isAttacking = false)
+                    .whenCancelled(v -> isAttacking = false)
+                    .start(getScheduler());
 
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug(
                         "TriggerBot attacked {} at {:.1f}%",
                         aimed.getName().getString(),
@@ -4,7 +4,7 @@ import art.ameliah.fabric.autosprintfix.core.module.AutoRegister;
 import art.ameliah.fabric.autosprintfix.core.module.Module;
 import art.ameliah.fabric.autosprintfix.core.module.ModuleCategory;
 import art.ameliah.fabric.autosprintfix.core.module.settings.RangeSetting;
-import art.ameliah.fabric.autosprintfix.core.module.settings.ModeSetting;
+import art.ameliah.fabric.autosprintfix.core.module.settings.EnumSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.NumberSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.BooleanSetting;
 import art.ameliah.fabric.autosprintfix.core.event.Listener;
@@ -39,11 +39,29 @@ public class FastPlace extends Module {
 
     private final RangeSetting cooldown; // Combines base + jitter
     private final NumberSetting startDelay; // Delay before activation
-    private final ModeSetting targetType; // Blocks / Projectiles / Both
+    private final EnumSetting<TargetType> targetType; // Blocks / Projectiles / Both
     private final BooleanSetting debugMode;
 
     private long holdStartTime = 0;
 
+    /** Items FastPlace applies to. */
+    private enum TargetType {
+        BOTH("Both"),
+        BLOCKS("Blocks Only"),
+        PROJECTILES("Projectiles Only");
+
+        private final String displayName;
+
+        TargetType(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
     public FastPlace() {
         super("FastPlace",
                 "Allows you to place blocks or use projectiles faster.",
@@ -59,10 +77,10 @@ public class FastPlace extends Module {
                 "Delay before fast place starts",
                 0, 0, 1000));
 
-        this.targetType = addSetting(new ModeSetting(
+        this.targetType = addSetting(new EnumSetting<>(
                 "Target Type",
                 "Which items FastPlace applies to",
-                "Both", "Both", "Blocks Only", "Projectiles Only"));
+                TargetType.BOTH));
 
         this.debugMode = addSetting(new BooleanSetting("Debug Mode", "Enable debug logging", false));
     }
@@ -81,12 +99,10 @@ public class FastPlace extends Module {
 
     /** Checks if FastPlace should apply for current items based on mode. */
     private boolean shouldApply(Item main, Item off) {
-        String mode = targetType.getModes().get(targetType.getIndex());
-        return switch (mode) {
-            case "Blocks Only" -> isBlock(main, off); // Blocks
-            case "Projectiles Only" -> isProjectile(main, off); // Projectiles
-            case "Both" -> isBlock(main, off) || isProjectile(main, off); // Both
-            default -> false;
+        return switch (targetType.get()) {
+            case BLOCKS -> isBlock(main, off); // Blocks
+            case PROJECTILES -> isProjectile(main, off); // Projectiles
+            case BOTH -> isBlock(main, off) || isProjectile(main, off); // Both
         };
     }
 
@@ -96,10 +112,10 @@ public class FastPlace extends Module {
     @Listener
     protected void onToggle(ModuleToggleEvent event) {
         if (event.enabled) {
-            if (debugMode.getValue())
+            if (debugMode.getBoolean())
                 logger.debug("FastPlace enabled");
         } else {
-            if (debugMode.getValue())
+            if (debugMode.getBoolean())
                 logger.debug("FastPlace disabled");
         }
     }
@@ -136,7 +152,7 @@ public class FastPlace extends Module {
         // Always reduce pearl/wind charge cooldown
         if (currentItem == Items.ENDER_PEARL || currentItem == Items.WIND_CHARGE) {
             event.cooldown = 1;
-            if (debugMode.getValue())
+            if (debugMode.getBoolean())
                 logger.debug("FastPlace pearl/wind-charge override: 1 tick");
             return;
         }
@@ -152,7 +168,7 @@ public class FastPlace extends Module {
         int finalCooldown = cooldown.getRandomValueInt();
         event.cooldown = finalCooldown;
 
-        if (debugMode.getValue()) {
+        if (debugMode.getBoolean()) {
             logger.debug("FastPlace cooldown applied: {}", finalCooldown);
         }
     }
@@ -40,7 +40,7 @@ public class IgnoreList extends Module {
      */
     @Listener
     protected void onToggle(ModuleToggleEvent event) {
-        if (debugMode.getValue()) {
+        if (debugMode.getBoolean()) {
             if (event.enabled) {
                 logger.debug("IgnoreList enabled");
             } else {
@@ -52,10 +52,10 @@ public class IgnoreList extends Module {
     /* ================= GETTERS ================= */
 
     public boolean isFriendCheckEnabled() {
-        return friendCheck.getValue();
+        return friendCheck.getBoolean();
     }
 
     public boolean isTeamCheckEnabled() {
-        return teamCheck.getValue();
+        return teamCheck.getBoolean();
     }
 }
@@ -42,11 +42,11 @@ public class NoJumpDelay extends Module {
     @Listener
     protected void onToggle(ModuleToggleEvent event) {
         if (event.enabled) {
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("NoJumpDelay enabled");
             }
         } else {
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("NoJumpDelay disabled");
             }
         }
@@ -0,0 +1,123 @@
+package art.ameliah.fabric.autosprintfix.core.module.modules.misc;
+
+import art.ameliah.fabric.autosprintfix.core.event.Listener;
+import art.ameliah.fabric.autosprintfix.core.event.events.RenderEvent;
+import art.ameliah.fabric.autosprintfix.core.module.AutoRegister;
+import art.ameliah.fabric.autosprintfix.core.module.Module;
+import art.ameliah.fabric.autosprintfix.core.module.ModuleCategory;
+import art.ameliah.fabric.autosprintfix.core.module.settings.BooleanSetting;
+import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil;
+import art.ameliah.fabric.autosprintfix.core.util.SchedulerStats;
+import art.ameliah.fabric.autosprintfix.gui.util.ColorUtils;
+import art.ameliah.fabric.autosprintfix.gui.util.RenderUtils;
+import net.minecraft.client.gui.GuiGraphics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SchedulerDebug
+ *
+ * Debug HUD showing the scheduler backlog, how late tick and deadline
+ * tasks fire, and which owners spend the most time running tasks.
+ * Helps tell scheduler backlog apart from client tick lag.
+ */
+@AutoRegister(priority = 0)
+public class SchedulerDebug extends Module {
+
+    // Refresh interval of the displayed lines
+    private static final long REFRESH_NANOS = 250_000_000L;
+
+    private final BooleanSetting showOwners; // Show pending tasks per owner
+    private final BooleanSetting showExecution; // Show execution times per owner
+
+    // Runtime state
+    private final List<String> lines = new ArrayList<>(); // Lines currently displayed
+    private long lastRefresh = 0; // nanoTime of the last refresh
+
+    public SchedulerDebug() {
+        super(
+                "SchedulerDebug",
+                "Shows scheduler backlog, task lateness and execution times.",
+                ModuleCategory.MISC);
+
+        this.showOwners = addSetting(new BooleanSetting(
+                "Show Owners",
+                "List pending tasks per module or scope",
+                true));
+        this.showExecution = addSetting(new BooleanSetting(
+                "Show Execution",
+                "List task execution times per module or scope",
+                false));
+    }
+
+    /**
+     * Draws the statistics in the top left corner.
+     */
+    @Listener
+    public void onRender(RenderEvent event) {
+        if (mc.options.hideGui)
+            return;
+
+        long now = System.nanoTime();
+        if (lines.isEmpty() || now - lastRefresh >= REFRESH_NANOS) {
+            refresh();
+            lastRefresh = now;
+        }
+
+        GuiGraphics graphics = event.getGraphics();
+        int lineHeight = RenderUtils.getFontHeight() + 1;
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, RenderUtils.getStringWidth(line));
+        }
+
+        RenderUtils.fill(graphics, 2, 2, 8 + width, 6 + lines.size() * lineHeight,
+                ColorUtils.withAlpha(0x000000, 140));
+
+        int y = 5;
+        for (String line : lines) {
+            RenderUtils.drawString(graphics, line, 5, y, ColorUtils.TEXT_PRIMARY);
+            y += lineHeight;
+        }
+    }
+
+    /**
+     * Rebuilds the displayed lines from the scheduler.
+     */
+    private void refresh() {
+        SchedulerStats stats = AsyncUtil.getStats();
+        long oldest = AsyncUtil.getOldestPendingAge();
+
+        lines.clear();
+        lines.add("§aScheduler §7pending §f" + AsyncUtil.getPendingCount()
+                + (oldest >= 0 ? " §7oldest §f" + SchedulerStats.formatDuration(oldest) : ""));
+
+        SchedulerStats.Histogram ticks = stats.getTickLateness();
+        lines.add("§7tick late p99 §f" + SchedulerStats.formatDuration(ticks.getPercentile(99))
+                + " §7max §f" + SchedulerStats.formatDuration(ticks.getMax())
+                + " §7late ticks §f" + stats.getLateTickTasks());
+
+        SchedulerStats.Histogram deadlines = stats.getDeadlineLateness();
+        if (deadlines.getCount() > 0) {
+            lines.add("§7deadline late p99 §f" + SchedulerStats.formatDuration(deadlines.getPercentile(99))
+                    + " §7max §f" + SchedulerStats.formatDuration(deadlines.getMax()));
+        }
+
+        if (showOwners.getBoolean()) {
+            for (Map.Entry<String, Integer> entry : AsyncUtil.getPendingByOwner().entrySet()) {
+                lines.add("§7  " + entry.getKey() + " §f" + entry.getValue());
+            }
+        }
+
+        if (showExecution.getBoolean()) {
+            for (Map.Entry<String, SchedulerStats.Histogram> entry : stats.getExecutionTimes().entrySet()) {
+                SchedulerStats.Histogram histogram = entry.getValue();
+                lines.add("§7  run " + entry.getKey()
+                        + " §fp99 " + SchedulerStats.formatDuration(histogram.getPercentile(99))
+                        + " §7max §f" + SchedulerStats.formatDuration(histogram.getMax()));
+            }
+        }
+    }
+}
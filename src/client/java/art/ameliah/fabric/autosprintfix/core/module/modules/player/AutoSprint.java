@@ -7,7 +7,6 @@ import art.ameliah.fabric.autosprintfix.core.module.AutoRegister;
 import art.ameliah.fabric.autosprintfix.core.module.Module;
 import art.ameliah.fabric.autosprintfix.core.module.ModuleCategory;
 import art.ameliah.fabric.autosprintfix.core.module.settings.BooleanSetting;
-import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil;
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 
 import net.minecraft.client.Minecraft;
@@ -80,10 +79,15 @@ public class AutoSprint extends Module {
                 && !p.isPassenger();
     }
 
-    // Debug logging helper
+    // Whether debug output is wanted (guards formatting of debug messages)
+    private boolean isDebugging() {
+        return debugMode != null && debugMode.getBoolean() && logger.isDebugEnabled();
+    }
+
+    // Debug logging helper (formatted messages are only built inside an isDebugging() guard)
     private void debug(String message) {
-        if (debugMode != null && debugMode.getValue()) {
-            logger.debug("[AutoSprint] " + message);
+        if (isDebugging()) {
+            logger.debug("[AutoSprint] {}", message);
         }
     }
 
@@ -131,8 +135,10 @@ public class AutoSprint extends Module {
             double currentDistance = playerPos.distanceTo(targetPos);
             state.distanceChange = currentDistance - previousDistance;
 
-            debug(String.format("Distance change: %.3f (was %.2f, now %.2f)",
-                    state.distanceChange, previousDistance, currentDistance));
+            if (isDebugging()) {
+                debug(String.format("Distance change: %.3f (was %.2f, now %.2f)",
+                        state.distanceChange, previousDistance, currentDistance));
+            }
 
             // Target is escaping if distance increased significantly
             state.escaping = state.distanceChange > 0.3 || (state.movingAway && targetSpeed > playerSpeed);
@@ -160,8 +166,10 @@ public class AutoSprint extends Module {
             // Detect deceleration (opponent slowing down, maybe turning to fight)
             state.decelerating = currentSpeed < previousSpeed - 0.05;
 
-            debug(String.format("Speed change: %.3f → %.3f (accel: %b, decel: %b)",
-                    previousSpeed, currentSpeed, state.accelerating, state.decelerating));
+            if (isDebugging()) {
+                debug(String.format("Speed change: %.3f → %.3f (accel: %b, decel: %b)",
+                        previousSpeed, currentSpeed, state.accelerating, state.decelerating));
+            }
 
             // Detect direction change
             if (lastTargetVelocity.horizontalDistanceSqr() > 0.01 && targetVel.horizontalDistanceSqr() > 0.01) {
@@ -170,7 +178,7 @@ public class AutoSprint extends Module {
                 double dotProduct = lastDir.dot(currentDir);
                 state.changedDirection = dotProduct < 0.7; // Turned more than ~45 degrees
 
-                if (state.changedDirection) {
+                if (state.changedDirection && isDebugging()) {
                     debug(String.format("Target changed direction! (dot: %.2f)", dotProduct));
                 }
             } else {
@@ -216,7 +224,7 @@ public class AutoSprint extends Module {
 
         boolean comboLock = recentHit && sameTarget && inRange && inHitstun && consecutiveHits >= 2 && notEscaping;
 
-        if (comboLock) {
+        if (comboLock && isDebugging()) {
             debug(String.format("COMBO LOCK! (hits: %d, hurtTime: %d, distance: %.2f)",
                     consecutiveHits, living.hurtTime, distance));
         }
@@ -306,7 +314,9 @@ public class AutoSprint extends Module {
             baseHold = hold = 9;
         }
 
-        debug(String.format("Base hold: %d ticks (distance: %.2f)", baseHold, distance));
+        if (isDebugging()) {
+            debug(String.format("Base hold: %d ticks (distance: %.2f)", baseHold, distance));
+        }
 
         // === VELOCITY ADJUSTMENTS ===
 
@@ -332,7 +342,9 @@ public class AutoSprint extends Module {
             // TRADE SCENARIO: Longer taps for better trades
             int oldHold = hold;
             hold = Math.min(hold + 2, 9);
-            debug(String.format("TRADE SCENARIO: %d → %d ticks", oldHold, hold));
+            if (isDebugging()) {
+                debug(String.format("TRADE SCENARIO: %d → %d ticks", oldHold, hold));
+            }
         }
 
         // Opponent decelerating = they might fight, prepare for trade
@@ -366,21 +378,29 @@ public class AutoSprint extends Module {
         // === COMBO LOCK PATTERN ===
         if (inComboLock) {
             hold = useSTap ? 5 : 4;
-            debug(String.format("Combo lock hold: %d ticks", hold));
+            if (isDebugging()) {
+                debug(String.format("Combo lock hold: %d ticks", hold));
+            }
         }
 
         // === COOLDOWN ADJUSTMENTS ===
         if (cooldown < 0.70f) {
             int oldHold = hold;
             hold = Math.max(2, hold - 2);
-            debug(String.format("Low cooldown (%.0f%%): %d → %d ticks", cooldown * 100, oldHold, hold));
+            if (isDebugging()) {
+                debug(String.format("Low cooldown (%.0f%%): %d → %d ticks", cooldown * 100, oldHold, hold));
+            }
         } else if (cooldown >= 0.85f && cooldown < 0.95f) {
             hold = Math.min(hold + 1, 8);
-            debug(String.format("High cooldown (%.0f%%): +1 tick", cooldown * 100));
+            if (isDebugging()) {
+                debug(String.format("High cooldown (%.0f%%): +1 tick", cooldown * 100));
+            }
         } else if (cooldown >= 0.95f) {
             int oldHold = hold;
             hold = Math.max(3, hold - 1);
-            debug(String.format("Perfect cooldown (%.0f%%): %d → %d ticks", cooldown * 100, oldHold, hold));
+            if (isDebugging()) {
+                debug(String.format("Perfect cooldown (%.0f%%): %d → %d ticks", cooldown * 100, oldHold, hold));
+            }
         }
 
         // === CRIT ADJUSTMENTS ===
@@ -393,7 +413,9 @@ public class AutoSprint extends Module {
         if (!player.onGround()) {
             int oldHold = hold;
             hold = Math.max(2, hold - 2);
-            debug(String.format("Airborne: %d → %d ticks", oldHold, hold));
+            if (isDebugging()) {
+                debug(String.format("Airborne: %d → %d ticks", oldHold, hold));
+            }
         }
 
         // === S-TAP NEEDS LONGER HOLD ===
@@ -415,7 +437,9 @@ public class AutoSprint extends Module {
         // Clamp between 2-10 ticks
         hold = Math.max(2, Math.min(10, hold));
 
-        debug(String.format("FINAL HOLD: %d ticks (pre-jitter: %d, clamped: %d)", hold, preJitter, hold));
+        if (isDebugging()) {
+            debug(String.format("FINAL HOLD: %d ticks (pre-jitter: %d, clamped: %d)", hold, preJitter, hold));
+        }
 
         return hold;
     }
@@ -452,7 +476,9 @@ public class AutoSprint extends Module {
         delay = gaussianInt(delay, 1);
         delay = Math.max(0, Math.min(3, delay));
 
-        debug(String.format("Delay: %d ticks", delay));
+        if (isDebugging()) {
+            debug(String.format("Delay: %d ticks", delay));
+        }
 
         return delay;
     }
@@ -502,7 +528,9 @@ public class AutoSprint extends Module {
         // Update combo tracking
         if (lastTarget == entity) {
             consecutiveHits++;
-            debug(String.format("Consecutive hits: %d", consecutiveHits));
+            if (isDebugging()) {
+                debug(String.format("Consecutive hits: %d", consecutiveHits));
+            }
         } else {
             consecutiveHits = 1;
             debug("New target - reset combo counter");
@@ -511,14 +539,18 @@ public class AutoSprint extends Module {
         double distance = player.distanceTo(entity);
         float cooldown = player.getAttackStrengthScale(0.5F);
 
-        debug(String.format("Distance: %.2f | Cooldown: %.0f%% | Sprinting: %b | OnGround: %b",
-                distance, cooldown * 100, player.isSprinting(), player.onGround()));
+        if (isDebugging()) {
+            debug(String.format("Distance: %.2f | Cooldown: %.0f%% | Sprinting: %b | OnGround: %b",
+                    distance, cooldown * 100, player.isSprinting(), player.onGround()));
+        }
 
         // Analyze target velocity (uses lastTargetPos and lastTargetVelocity)
         TargetVelocityState velState = analyzeTargetVelocity(player, entity);
 
-        debug(String.format("VelState: escaping=%b, closing=%b, stationary=%b, speed=%.3f",
-                velState.escaping, velState.closing, velState.stationary, velState.speed));
+        if (isDebugging()) {
+            debug(String.format("VelState: escaping=%b, closing=%b, stationary=%b, speed=%.3f",
+                    velState.escaping, velState.closing, velState.stationary, velState.speed));
+        }
 
         // Detect combo lock (FIXED: now passes player parameter)
         inComboLock = isInComboLock(player, entity, distance, velState);
@@ -530,7 +562,9 @@ public class AutoSprint extends Module {
         if (velState.escaping && distance > 3.0) {
             hitsWithoutTap++;
             if (hitsWithoutTap < 2) {
-                debug(String.format("Skipping tap %d/2 for chase mode", hitsWithoutTap));
+                if (isDebugging()) {
+                    debug(String.format("Skipping tap %d/2 for chase mode", hitsWithoutTap));
+                }
                 updateTracking(entity);
                 return;
             }
@@ -558,17 +592,21 @@ public class AutoSprint extends Module {
         // Calculate delay
         int delay = calculateDelay(player, cooldown, velState);
 
-        debug(String.format(">>> EXECUTING: %s-TAP | Hold: %d ticks | Delay: %d ticks <<<",
-                useSTap ? "S" : "W", hold, delay));
+        if (isDebugging()) {
+            debug(String.format(">>> EXECUTING: %s-TAP | Hold: %d ticks | Delay: %d ticks <<<",
+                    useSTap ? "S" : "W", hold, delay));
+        }
 
         // IMPORTANT: Update tracking BEFORE the async callback
         updateTracking(entity);
 
         final int finalHold = hold;
-        AsyncUtil.delayTicks(delay, () -> {
+        getScheduler().delayTicks(delay, () -> {
             tapping = true;
             remainingTapTicks = finalHold;
-            debug(String.format("Tap started! Holding for %d ticks", finalHold));
+            if (isDebugging()) {
+                debug(String.format("Tap started! Holding for %d ticks", finalHold));
+            }
         });
     }
 
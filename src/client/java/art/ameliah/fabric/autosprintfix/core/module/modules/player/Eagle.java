@@ -108,7 +108,7 @@ public class Eagle extends Module {
 
         boolean shouldSneak = isJumping(player) || (player.onGround() && isAtEdge(player));
 
-        if (shouldSneak && debugMode.getValue()) {
+        if (shouldSneak && debugMode.getBoolean()) {
             logger.debug("Eagle: Sneaking activated");
         }
 
@@ -7,6 +7,7 @@ import art.ameliah.fabric.autosprintfix.core.module.settings.RangeSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.BooleanSetting;
 import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil;
 import art.ameliah.fabric.autosprintfix.core.util.InteractionUtil;
+import art.ameliah.fabric.autosprintfix.core.util.TickFuture;
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 import art.ameliah.fabric.autosprintfix.core.event.Listener;
 import art.ameliah.fabric.autosprintfix.core.event.events.GameRenderTaskQueueEvent;
@@ -45,9 +46,8 @@ public class AutoDrain extends Module {
 
     // Runtime state
     private boolean isUsing = false; // True while using bucket
-    private AsyncUtil.Token swapBackToken; // Scheduled swap-back task
+    private AsyncUtil.Token reactionToken; // Scheduled drain after the reaction delay
     private BlockPos lastSeenWater = null; // Last water block targeted
-    private long aimStartMs = 0; // When player started aiming at water
 
     private static final float MIN_DRAIN_DISTANCE = 2.5f; // Minimum distance to water for draining
 
@@ -84,22 +84,27 @@ public class AutoDrain extends Module {
     }
 
     /**
-     * Schedules swapping back to the original hotbar slot after using the bucket.
+     * Swaps back to the original hotbar slot after using the bucket.
      *
      * @param inventory    Player's inventory
      * @param originalSlot Original hotbar slot to return to
      */
-    private void scheduleSwapBack(Inventory inventory, int originalSlot) {
-        if (swapBackToken != null)
-            swapBackToken.cancel(); // Cancel any previous scheduled swap-back
-
-        int delay = swapBackDelay.getRandomValueInt();
-        swapBackToken = AsyncUtil.delayTicks(delay, () -> {
-            inventory.setSelectedSlot(originalSlot);
-            isUsing = false;
-            if (debugMode.getValue())
-                logger.debug("Swapped back to original slot {}", originalSlot);
-        });
+    private void swapBack(Inventory inventory, int originalSlot) {
+        inventory.setSelectedSlot(originalSlot);
+        isUsing = false;
+        if (debugMode.getBoolean())
+            logger.debug("Swapped back to original slot {}", originalSlot);
+    }
+
+    /**
+     * Forgets the targeted water block and cancels its pending drain.
+     */
+    private void resetAim() {
+        lastSeenWater = null;
+        if (reactionToken != null) {
+            reactionToken.cancel();
+            reactionToken = null;
+        }
     }
 
     /**
@@ -110,11 +115,12 @@ public class AutoDrain extends Module {
     @Listener
     protected void onToggle(ModuleToggleEvent event) {
         if (event.enabled) {
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("AutoDrain enabled");
             }
         } else {
-            if (debugMode.getValue()) {
+            resetAim();
+            if (debugMode.getBoolean()) {
                 logger.debug("AutoDrain disabled");
             }
         }
@@ -122,7 +128,7 @@ public class AutoDrain extends Module {
 
     /**
      * Main logic executed each render tick.
-     * Detects water blocks, applies reaction delay, uses bucket, and swaps back.
+     * Detects water blocks and schedules the drain after the reaction delay.
      */
     @Listener
     public void onGameRenderTaskQueue(GameRenderTaskQueueEvent event) {
@@ -135,8 +141,7 @@ public class AutoDrain extends Module {
         // Raycast to detect targeted block
         HitResult hit = player.pick(4.5D, 0.0F, true);
         if (hit.getType() != HitResult.Type.BLOCK) {
-            lastSeenWater = null;
-            aimStartMs = 0;
+            resetAim();
             return;
         }
 
@@ -146,31 +151,41 @@ public class AutoDrain extends Module {
 
         // Ignore non-source water
         if (!state.getFluidState().isSource() || state.getFluidState().getType() != Fluids.WATER) {
-            lastSeenWater = null;
-            aimStartMs = 0;
+            resetAim();
             return;
         }
 
         // Ignore water blocks too close
         double distSq = player.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
         if (distSq < MIN_DRAIN_DISTANCE * MIN_DRAIN_DISTANCE) {
-            lastSeenWater = null;
-            aimStartMs = 0;
-            if (debugMode.getValue())
+            resetAim();
+            if (debugMode.getBoolean())
                 logger.debug("Skipping drain (water too close)");
             return;
         }
 
-        // Reaction delay logic
-        long now = System.currentTimeMillis();
-        if (lastSeenWater != null && pos.equals(lastSeenWater)) {
-            if (now - aimStartMs < reactionDelayMs.getRandomValueInt())
-                return;
-        } else {
-            lastSeenWater = pos;
-            aimStartMs = now;
-            return; // Start counting reaction delay
-        }
+        // Reaction delay already running for this block
+        if (pos.equals(lastSeenWater) && reactionToken != null && !reactionToken.isCanceled())
+            return;
+
+        // Start counting reaction delay; aiming elsewhere cancels it
+        resetAim();
+        lastSeenWater = pos;
+        reactionToken = getScheduler().delayMillis(reactionDelayMs.getRandomValueInt(), () -> drain(pos));
+    }
+
+    /**
+     * Uses an empty bucket on the targeted water block once the reaction
+     * delay has passed.
+     *
+     * @param pos The targeted water block
+     */
+    private void drain(BlockPos pos) {
+        reactionToken = null;
+
+        LocalPlayer player = mc.player;
+        if (player == null || isUsing)
+            return;
 
         // Hotbar logic
         Inventory inventory = player.getInventory();
@@ -178,7 +193,7 @@ public class AutoDrain extends Module {
         ItemStack selectedStack = inventory.getItem(selectedSlot);
         int bucketSlot = (selectedStack.getItem() == Items.BUCKET) ? selectedSlot : findEmptyBucket(inventory);
         if (bucketSlot == -1) {
-            if (debugMode.getValue())
+            if (debugMode.getBoolean())
                 logger.debug("No empty bucket found");
             return;
         }
@@ -187,14 +202,17 @@ public class AutoDrain extends Module {
         isUsing = true;
         int originalSlot = selectedSlot; // Remember original slot
         inventory.setSelectedSlot(bucketSlot);
-        if (debugMode.getValue())
+        if (debugMode.getBoolean())
             logger.debug("Using bucket at {}", pos);
 
-        AsyncUtil.delayTicks(useDelayTicks.getRandomValueInt(), () -> {
-            InteractionUtil.use(true, 1); // Use bucket
-            scheduleSwapBack(inventory, originalSlot); // Swap back after delay
-            lastSeenWater = null;
-            aimStartMs = 0;
-        });
+        // Use bucket, then swap back after delay
+        TickFuture.of(inventory)
+                .thenAfterTicks(useDelayTicks.getRandomValueInt(), inv -> {
+                    InteractionUtil.use(true, 1);
+                    lastSeenWater = null;
+                })
+                .thenAfterTicks(swapBackDelay.getRandomValueInt(), inv -> swapBack(inv, originalSlot))
+                .whenCancelled(inv -> swapBack(inv, originalSlot))
+                .start(getScheduler());
     }
 }
@@ -10,7 +10,7 @@ import art.ameliah.fabric.autosprintfix.core.module.ModuleCategory;
 import art.ameliah.fabric.autosprintfix.core.module.settings.BooleanSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.NumberSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.RangeSetting;
-import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil;
+import art.ameliah.fabric.autosprintfix.core.util.TickFuture;
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 
 import net.minecraft.client.Minecraft;
@@ -41,6 +41,9 @@ public class AutoPearlCatch extends Module {
     // Enable debug logging
     public final BooleanSetting debugMode;
 
+    // Pitch at or below which the player looks up (derived from minUpPitch)
+    private float maxLookUpPitch;
+
     // Tracks if swap is pending
     private boolean pendingCatch = false;
 
@@ -62,6 +65,8 @@ public class AutoPearlCatch extends Module {
                 "Min Upward Pitch",
                 "Minimum upward pitch angle to trigger pearl catch",
                 45, 0, 90, 1));
+        this.maxLookUpPitch = -minUpPitch.getIntValue();
+        minUpPitch.subscribe(pitch -> maxLookUpPitch = -minUpPitch.getIntValue());
 
         this.debugMode = addSetting(new BooleanSetting(
                 "Debug Mode",
@@ -92,7 +97,7 @@ public class AutoPearlCatch extends Module {
      * @return true if looking up
      */
     private boolean isLookingUp(LocalPlayer player) {
-        return player.getXRot() <= -minUpPitch.getIntValue();
+        return player.getXRot() <= maxLookUpPitch;
     }
 
     /**
@@ -103,11 +108,11 @@ public class AutoPearlCatch extends Module {
     @Listener
     protected void onToggle(ModuleToggleEvent event) {
         if (event.enabled) {
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("AutoPearlCatch enabled");
             }
         } else {
-            if (debugMode.getValue()) {
+            if (debugMode.getBoolean()) {
                 logger.debug("AutoPearlCatch disabled");
             }
         }
@@ -152,19 +157,22 @@ public class AutoPearlCatch extends Module {
             if (windSlot != -1) {
                 pendingCatch = true;
 
-                if (debugMode.getValue()) {
+                if (debugMode.getBoolean()) {
                     logger.debug("AutoPearlCatch: Swapping to Wind Charge in {} ticks", swapDelay.getRandomValueInt());
                 }
 
                 // Delay swap using RangeSetting's getRandomValueInt()
-                AsyncUtil.delayTicks(swapDelay.getRandomValueInt(), () -> {
-                    inventory.setSelectedSlot(windSlot);
-                    pendingCatch = false;
-
-                    if (debugMode.getValue()) {
-                        logger.debug("AutoPearlCatch: Swapped to Wind Charge (slot {})", windSlot);
-                    }
-                });
+                TickFuture.of(inventory)
+                        .thenAfterTicks(swapDelay.getRandomValueInt(), inv -> {
+                            inv.setSelectedSlot(windSlot);
+                            pendingCatch = false;
+
+                            if (debugMode.getBoolean()) {
+                                logger.debug("AutoPearlCatch: Swapped to Wind Charge (slot {})", windSlot);
+                            }
+                        })
+                        .whenCancelled(inv -> pendingCatch = false)
+                        .start(getScheduler());
             }
         }
     }
@@ -1,10 +1,24 @@
 package art.ameliah.fabric.autosprintfix.core.module.settings;
 
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigReader;
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigWriter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * A boolean toggle setting.
+ *
+ * The value is stored as a primitive boolean; use {@link #getBoolean()}
+ * in hot paths.
  */
 public class BooleanSetting extends Setting<Boolean> {
 
+    // Current value (the boxed base field is not used)
+    private boolean current;
+
     /**
      * Creates a new boolean setting.
      * 
@@ -14,13 +28,45 @@ public class BooleanSetting extends Setting<Boolean> {
      */
     public BooleanSetting(String name, String description, boolean defaultValue) {
         super(name, description, defaultValue);
+        this.current = defaultValue;
+    }
+
+    @Override
+    public Boolean getValue() {
+        return current;
+    }
+
+    @Override
+    public void setValue(Boolean value) {
+        setBoolean(value);
+    }
+
+    /**
+     * Gets the value without boxing.
+     * 
+     * @return The value
+     */
+    public boolean getBoolean() {
+        return current;
+    }
+
+    /**
+     * Sets the value.
+     * 
+     * @param value The new value
+     */
+    public void setBoolean(boolean value) {
+        if (current != value) {
+            current = value;
+            changed();
+        }
     }
 
     /**
      * Toggles the value.
      */
     public void toggle() {
-        setValue(!getValue());
+        setBoolean(!current);
     }
 
     @Override
@@ -30,15 +76,44 @@ public class BooleanSetting extends Setting<Boolean> {
 
     @Override
     public String serialize() {
-        return String.valueOf(value);
+        return String.valueOf(current);
     }
 
     @Override
     public void deserialize(String serialized) {
         try {
-            value = Boolean.parseBoolean(serialized);
+            current = Boolean.parseBoolean(serialized);
         } catch (Exception e) {
-            value = defaultValue;
+            current = defaultValue;
+        }
+    }
+
+    @Override
+    public void write(JsonWriter writer) throws IOException {
+        writer.value(current);
+    }
+
+    @Override
+    public void read(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            current = reader.nextBoolean();
+        } else {
+            super.read(reader);
+        }
+    }
+
+    @Override
+    public void write(BinaryConfigWriter out) {
+        out.writeValue(current);
+    }
+
+    @Override
+    public void read(BinaryConfigReader in) throws IOException {
+        if (in.peekTag() == BinaryConfigWriter.TAG_BOOLEAN) {
+            in.readTag();
+            current = in.readBoolean();
+        } else {
+            super.read(in);
         }
     }
 }
\ No newline at end of file
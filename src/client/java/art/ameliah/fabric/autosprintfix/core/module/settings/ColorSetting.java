@@ -1,13 +1,27 @@
 package art.ameliah.fabric.autosprintfix.core.module.settings;
 
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigReader;
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigWriter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * A color setting that stores an ARGB color value.
+ *
+ * The color is stored as a primitive int; use {@link #getInt()} in hot
+ * paths.
  */
 public class ColorSetting extends Setting<Integer> {
 
     // Whether alpha is enabled
     private final boolean hasAlpha;
 
+    // Current color (the boxed base field is not used)
+    private int current;
+
     /**
      * Creates a new color setting.
      * 
@@ -19,6 +33,7 @@ public class ColorSetting extends Setting<Integer> {
     public ColorSetting(String name, String description, int defaultColor, boolean hasAlpha) {
         super(name, description, defaultColor);
         this.hasAlpha = hasAlpha;
+        this.current = defaultColor;
     }
 
     /**
@@ -28,46 +43,77 @@ public class ColorSetting extends Setting<Integer> {
         this(name, description, defaultColor, false);
     }
 
+    @Override
+    public Integer getValue() {
+        return current;
+    }
+
+    @Override
+    public void setValue(Integer value) {
+        setInt(value);
+    }
+
+    /**
+     * Gets the color without boxing.
+     * 
+     * @return The ARGB color
+     */
+    public int getInt() {
+        return current;
+    }
+
+    /**
+     * Sets the color.
+     * 
+     * @param color The new ARGB color
+     */
+    public void setInt(int color) {
+        if (current != color) {
+            current = color;
+            changed();
+        }
+    }
+
     /**
      * Gets the red component (0-255).
      */
     public int getRed() {
-        return (value >> 16) & 0xFF;
+        return (current >> 16) & 0xFF;
     }
 
     /**
      * Gets the green component (0-255).
      */
     public int getGreen() {
-        return (value >> 8) & 0xFF;
+        return (current >> 8) & 0xFF;
     }
 
     /**
      * Gets the blue component (0-255).
      */
     public int getBlue() {
-        return value & 0xFF;
+        return current & 0xFF;
     }
 
     /**
      * Gets the alpha component (0-255).
      */
     public int getAlpha() {
-        return (value >> 24) & 0xFF;
+        return (current >> 24) & 0xFF;
     }
 
     /**
      * Sets color from RGB components.
      */
     public void setRGB(int r, int g, int b) {
-        setValue(0xFF000000 | ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF));
+        setInt(0xFF000000 | ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF));
     }
 
     /**
      * Sets color from RGBA components.
      */
     public void setRGBA(int r, int g, int b, int a) {
-        setValue(((a & 0xFF) << 24) | ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF));
+        setInt(((a & 0xFF) << 24) | ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF));
     }
 
     public boolean hasAlpha() {
@@ -81,9 +127,9 @@ public class ColorSetting extends Setting<Integer> {
      */
     public String getHex() {
         if (hasAlpha) {
-            return String.format("%08X", value);
+            return String.format("%08X", current);
         } else {
-            return String.format("%06X", value & 0xFFFFFF);
+            return String.format("%06X", current & 0xFFFFFF);
         }
     }
 
@@ -94,15 +140,44 @@ public class ColorSetting extends Setting<Integer> {
 
     @Override
     public String serialize() {
-        return String.valueOf(value);
+        return String.valueOf(current);
     }
 
     @Override
     public void deserialize(String serialized) {
         try {
-            value = Integer.parseInt(serialized);
+            current = Integer.parseInt(serialized);
         } catch (Exception e) {
-            value = defaultValue;
+            current = defaultValue;
+        }
+    }
+
+    @Override
+    public void write(JsonWriter writer) throws IOException {
+        writer.value(current);
+    }
+
+    @Override
+    public void read(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NUMBER) {
+            current = reader.nextInt();
+        } else {
+            super.read(reader);
+        }
+    }
+
+    @Override
+    public void write(BinaryConfigWriter out) {
+        out.writeValue(current);
+    }
+
+    @Override
+    public void read(BinaryConfigReader in) throws IOException {
+        if (in.peekTag() == BinaryConfigWriter.TAG_INT) {
+            in.readTag();
+            current = in.readZigZag();
+        } else {
+            super.read(in);
         }
     }
 }
\ No newline at end of file
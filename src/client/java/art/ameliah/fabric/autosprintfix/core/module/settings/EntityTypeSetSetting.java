@@ -0,0 +1,37 @@
+package art.ameliah.fabric.autosprintfix.core.module.settings;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+
+/**
+ * A set of entity types, configured as comma separated entity ids.
+ */
+public class EntityTypeSetSetting extends RegistrySetSetting<EntityType<?>> {
+
+    /**
+     * Creates a new entity type set setting.
+     * 
+     * @param name         The setting name
+     * @param description  The setting description
+     * @param defaultValue The default comma separated entity ids
+     */
+    public EntityTypeSetSetting(String name, String description, String defaultValue) {
+        super(name, description, defaultValue, BuiltInRegistries.ENTITY_TYPE);
+    }
+
+    /**
+     * Checks if an entity's type is in the set.
+     * 
+     * @param entity The entity
+     * @return true if the entity's type is listed
+     */
+    public boolean contains(Entity entity) {
+        return contains(entity.getType());
+    }
+
+    @Override
+    public String getType() {
+        return "entity_set";
+    }
+}
@@ -0,0 +1,107 @@
+package art.ameliah.fabric.autosprintfix.core.module.settings;
+
+/**
+ * A setting that cycles through the constants of an enum.
+ *
+ * The current constant is stored directly, so {@link #get()} and
+ * {@link #cycle()} are O(1) and mode checks are reference comparisons.
+ * Strings are only used for config (the constant name) and display
+ * ({@link Enum#toString()}, override it for readable names).
+ *
+ * @param <E> The enum type
+ */
+public class EnumSetting<E extends Enum<E>> extends Setting<E> {
+
+    // Available constants in ordinal order
+    private final E[] constants;
+
+    /**
+     * Creates a new enum setting.
+     * 
+     * @param name         The setting name
+     * @param description  The setting description
+     * @param defaultValue The default constant
+     */
+    public EnumSetting(String name, String description, E defaultValue) {
+        super(name, description, defaultValue);
+        this.constants = defaultValue.getDeclaringClass().getEnumConstants();
+    }
+
+    /**
+     * Gets the current constant.
+     * 
+     * @return The constant
+     */
+    public E get() {
+        return value;
+    }
+
+    @Override
+    public void setValue(E value) {
+        if (value != null) {
+            super.setValue(value);
+        }
+    }
+
+    /**
+     * Cycles to the next constant.
+     */
+    public void cycle() {
+        setValue(constants[(value.ordinal() + 1) % constants.length]);
+    }
+
+    /**
+     * Cycles to the previous constant.
+     */
+    public void cyclePrevious() {
+        setValue(constants[(value.ordinal() - 1 + constants.length) % constants.length]);
+    }
+
+    /**
+     * Gets all available constants.
+     * 
+     * @return The constants in ordinal order
+     */
+    public E[] getConstants() {
+        return constants.clone();
+    }
+
+    /**
+     * Gets the display name of the current constant.
+     * 
+     * @return The display name
+     */
+    public String getDisplayValue() {
+        return value.toString();
+    }
+
+    @Override
+    public String getType() {
+        return "enum";
+    }
+
+    @Override
+    public String serialize() {
+        return value.name();
+    }
+
+    /**
+     * Accepts the constant name or its display name (case-insensitive),
+     * so values saved by a string-based mode setting keep working.
+     */
+    @Override
+    public void deserialize(String serialized) {
+        value = defaultValue;
+
+        if (serialized == null) {
+            return;
+        }
+
+        for (E constant : constants) {
+            if (constant.name().equalsIgnoreCase(serialized) || constant.toString().equalsIgnoreCase(serialized)) {
+                value = constant;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package art.ameliah.fabric.autosprintfix.core.module.settings;
+
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * A set of items, configured as comma separated item ids.
+ */
+public class ItemSetSetting extends RegistrySetSetting<Item> {
+
+    /**
+     * Creates a new item set setting.
+     * 
+     * @param name         The setting name
+     * @param description  The setting description
+     * @param defaultValue The default comma separated item ids
+     */
+    public ItemSetSetting(String name, String description, String defaultValue) {
+        super(name, description, defaultValue, BuiltInRegistries.ITEM);
+    }
+
+    /**
+     * Checks if a stack's item is in the set.
+     * 
+     * @param stack The item stack
+     * @return true if the stack's item is listed
+     */
+    public boolean contains(ItemStack stack) {
+        return contains(stack.getItem());
+    }
+
+    @Override
+    public String getType() {
+        return "item_set";
+    }
+}
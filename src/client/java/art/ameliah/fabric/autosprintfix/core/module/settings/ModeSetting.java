@@ -5,12 +5,16 @@ import java.util.List;
 
 /**
  * A setting that cycles through predefined modes/options.
+ * Prefer {@link EnumSetting} for modes checked in hot paths.
  */
 public class ModeSetting extends Setting<String> {
 
     // Available modes
     private final List<String> modes;
 
+    // Index of the current mode
+    private int index;
+
     /**
      * Creates a new mode setting.
      * 
@@ -26,6 +30,8 @@ public class ModeSetting extends Setting<String> {
         if (!this.modes.contains(defaultMode)) {
             throw new IllegalArgumentException("Default mode must be in modes list");
         }
+
+        this.index = this.modes.indexOf(defaultMode);
     }
 
     /**
@@ -38,11 +44,15 @@ public class ModeSetting extends Setting<String> {
         if (!this.modes.contains(defaultMode)) {
             throw new IllegalArgumentException("Default mode must be in modes list");
         }
+
+        this.index = this.modes.indexOf(defaultMode);
     }
 
     @Override
     public void setValue(String value) {
-        if (modes.contains(value)) {
+        int newIndex = modes.indexOf(value);
+        if (newIndex >= 0) {
+            index = newIndex;
             super.setValue(value);
         }
     }
@@ -51,7 +61,6 @@ public class ModeSetting extends Setting<String> {
      * Cycles to the next mode.
      */
     public void cycle() {
-        int index = modes.indexOf(value);
         int nextIndex = (index + 1) % modes.size();
         setValue(modes.get(nextIndex));
     }
@@ -60,7 +69,6 @@ public class ModeSetting extends Setting<String> {
      * Cycles to the previous mode.
      */
     public void cyclePrevious() {
-        int index = modes.indexOf(value);
         int prevIndex = (index - 1 + modes.size()) % modes.size();
         setValue(modes.get(prevIndex));
     }
@@ -80,7 +88,7 @@ public class ModeSetting extends Setting<String> {
      * @return The index
      */
     public int getIndex() {
-        return modes.indexOf(value);
+        return index;
     }
 
     /**
@@ -105,10 +113,13 @@ public class ModeSetting extends Setting<String> {
 
     @Override
     public void deserialize(String serialized) {
-        if (modes.contains(serialized)) {
+        index = modes.indexOf(serialized);
+
+        if (index >= 0) {
             value = serialized;
         } else {
             value = defaultValue;
+            index = modes.indexOf(defaultValue);
         }
     }
 }
\ No newline at end of file
@@ -1,8 +1,19 @@
 package art.ameliah.fabric.autosprintfix.core.module.settings;
 
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigReader;
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigWriter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * A number setting with min/max bounds.
  * Can be used for sliders in the GUI.
+ *
+ * The value is stored as a primitive double; use {@link #getDouble()} in
+ * hot paths, {@link #getValue()} boxes.
  */
 public class NumberSetting extends Setting<Double> {
 
@@ -18,6 +29,9 @@ public class NumberSetting extends Setting<Double> {
     // Whether to display as integer
     private final boolean integer;
 
+    // Current value (the boxed base field is not used)
+    private double current;
+
     /**
      * Creates a new number setting.
      * 
@@ -36,6 +50,7 @@ public class NumberSetting extends Setting<Double> {
         this.max = max;
         this.step = step;
         this.integer = integer;
+        this.current = defaultValue;
     }
 
     /**
@@ -53,17 +68,43 @@ public class NumberSetting extends Setting<Double> {
         this(name, description, defaultValue, min, max, step, false);
     }
 
+    @Override
+    public Double getValue() {
+        return current;
+    }
+
     @Override
     public void setValue(Double value) {
+        setDouble(value);
+    }
+
+    /**
+     * Gets the value without boxing.
+     * 
+     * @return The value
+     */
+    public double getDouble() {
+        return current;
+    }
+
+    /**
+     * Sets the value, clamped to the bounds and snapped to the step.
+     * 
+     * @param value The new value
+     */
+    public void setDouble(double value) {
         // Clamp to bounds
-        value = Math.max(min, Math.min(max, value));
+        value = clamp(value);
 
         // Snap to step
         if (step > 0) {
             value = Math.round(value / step) * step;
         }
 
-        super.setValue(value);
+        if (Double.compare(current, value) != 0) {
+            current = value;
+            changed();
+        }
     }
 
     /**
@@ -72,7 +113,7 @@ public class NumberSetting extends Setting<Double> {
      * @return The integer value
      */
     public int getIntValue() {
-        return (int) Math.round(value);
+        return (int) Math.round(current);
     }
 
     /**
@@ -81,7 +122,7 @@ public class NumberSetting extends Setting<Double> {
      * @return The float value
      */
     public float getFloatValue() {
-        return value.floatValue();
+        return (float) current;
     }
 
     public double getMin() {
@@ -106,7 +147,7 @@ public class NumberSetting extends Setting<Double> {
      * @return The progress
      */
     public double getProgress() {
-        return (value - min) / (max - min);
+        return (current - min) / (max - min);
     }
 
     /**
@@ -116,7 +157,7 @@ public class NumberSetting extends Setting<Double> {
      */
     public void setFromProgress(double progress) {
         progress = Math.max(0, Math.min(1, progress));
-        setValue(min + (max - min) * progress);
+        setDouble(min + (max - min) * progress);
     }
 
     @Override
@@ -126,17 +167,44 @@ public class NumberSetting extends Setting<Double> {
 
     @Override
     public String serialize() {
-        return String.valueOf(value);
+        return String.valueOf(current);
     }
 
     @Override
     public void deserialize(String serialized) {
         try {
-            value = Double.parseDouble(serialized);
-            // Clamp to bounds
-            value = Math.max(min, Math.min(max, value));
+            current = clamp(Double.parseDouble(serialized));
         } catch (Exception e) {
-            value = defaultValue;
+            current = defaultValue;
+        }
+    }
+
+    @Override
+    public void write(JsonWriter writer) throws IOException {
+        writer.value(current);
+    }
+
+    @Override
+    public void read(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NUMBER) {
+            current = clamp(reader.nextDouble());
+        } else {
+            super.read(reader);
+        }
+    }
+
+    @Override
+    public void write(BinaryConfigWriter out) {
+        out.writeValue(current);
+    }
+
+    @Override
+    public void read(BinaryConfigReader in) throws IOException {
+        if (in.peekTag() == BinaryConfigWriter.TAG_DOUBLE) {
+            in.readTag();
+            current = clamp(in.readDouble());
+        } else {
+            super.read(in);
         }
     }
 
@@ -149,7 +217,11 @@ public class NumberSetting extends Setting<Double> {
         if (integer) {
             return String.valueOf(getIntValue());
         } else {
-            return String.format("%.2f", value);
+            return String.format("%.2f", current);
         }
     }
+
+    private double clamp(double value) {
+        return Math.max(min, Math.min(max, value));
+    }
 }
\ No newline at end of file
@@ -1,10 +1,27 @@
 package art.ameliah.fabric.autosprintfix.core.module.settings;
 
-import java.util.Random;
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigReader;
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigWriter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * A setting that stores a range with minimum and maximum values.
  * Useful for randomization, delays, distances, etc.
+ *
+ * Random values come from {@link ThreadLocalRandom} by default, which is
+ * thread-safe without a shared seed. A setting can use its own generator
+ * ({@link #withRandom(RandomGenerator)}) and pre-sample values in batches
+ * ({@link #withPresampling(int)}). Setting the system property
+ * {@code autosprintfix.randomSeed} (or calling
+ * {@link #setDeterministicSeed(Long)}) makes every range setting draw from
+ * a generator seeded from that value and its own name, for reproducible runs.
  */
 public class RangeSetting extends Setting<double[]> {
 
@@ -18,8 +35,21 @@ public class RangeSetting extends Setting<double[]> {
     // Whether to display as integers
     private final boolean integer;
 
-    // Random instance for randomization
-    private static final Random random = new Random();
+    // Seed for deterministic mode (null = off)
+    private static volatile Long deterministicSeed = Long.getLong("autosprintfix.randomSeed");
+
+    // Custom generator (null = ThreadLocalRandom)
+    private volatile RandomGenerator generator;
+
+    // Generator used in deterministic mode and the seed it was created from
+    private RandomGenerator seededGenerator;
+    private Long seededFrom;
+
+    // Pre-sampled values in [0, 1) (null = sample on demand)
+    private volatile double[] samples;
+
+    // Next pre-sampled value to hand out
+    private int sampleIndex;
 
     /**
      * Creates a new range setting.
@@ -146,7 +176,7 @@ public class RangeSetting extends Setting<double[]> {
             return min;
         }
 
-        double randomValue = min + (max - min) * random.nextDouble();
+        double randomValue = min + (max - min) * nextUnit();
 
         // Snap to step
         if (step > 0) {
@@ -169,7 +199,7 @@ public class RangeSetting extends Setting<double[]> {
             return min;
         }
 
-        return min + random.nextInt(max - min + 1);
+        return min + (int) (nextUnit() * (max - min + 1));
     }
 
     /**
@@ -190,6 +220,49 @@ public class RangeSetting extends Setting<double[]> {
         return Math.round(getRandomValue());
     }
 
+    /**
+     * Uses a custom random generator for this setting.
+     * Generators that are not thread-safe (e.g. {@link SplittableRandom})
+     * are accessed under this setting's lock.
+     * 
+     * @param generator The generator, or null for {@link ThreadLocalRandom}
+     * @return This setting for chaining
+     */
+    public synchronized RangeSetting withRandom(RandomGenerator generator) {
+        this.generator = generator;
+        return this;
+    }
+
+    /**
+     * Pre-samples random values in batches instead of one per call.
+     * 
+     * @param size Number of values per batch, or 0 to disable
+     * @return This setting for chaining
+     */
+    public synchronized RangeSetting withPresampling(int size) {
+        this.samples = size > 0 ? new double[size] : null;
+        this.sampleIndex = size;
+        return this;
+    }
+
+    /**
+     * Enables or disables deterministic random values for all range settings.
+     * 
+     * @param seed The seed, or null to disable
+     */
+    public static void setDeterministicSeed(Long seed) {
+        deterministicSeed = seed;
+    }
+
+    /**
+     * Gets the seed used in deterministic mode.
+     * 
+     * @return The seed, or null if disabled
+     */
+    public static Long getDeterministicSeed() {
+        return deterministicSeed;
+    }
+
     /**
      * Sets the minimum value.
      * 
@@ -206,7 +279,7 @@ public class RangeSetting extends Setting<double[]> {
 
         if (value[0] != min) {
             value[0] = min;
-            notifyChange();
+            changed();
         }
     }
 
@@ -226,7 +299,7 @@ public class RangeSetting extends Setting<double[]> {
 
         if (value[1] != max) {
             value[1] = max;
-            notifyChange();
+            changed();
         }
     }
 
@@ -252,7 +325,7 @@ public class RangeSetting extends Setting<double[]> {
         if (value[0] != min || value[1] != max) {
             value[0] = min;
             value[1] = max;
-            notifyChange();
+            changed();
         }
     }
 
@@ -329,14 +402,57 @@ public class RangeSetting extends Setting<double[]> {
     }
 
     /**
-     * Notifies that the value changed and saves config.
+     * Draws a random value in [0, 1).
+     * The default path uses {@link ThreadLocalRandom} without locking.
      */
-    private void notifyChange() {
-        if (module != null) {
-            art.ameliah.fabric.autosprintfix.config.ConfigManager.getInstance().saveModule(module);
+    private double nextUnit() {
+        Long seed = deterministicSeed;
+
+        if (seed == null && generator == null && samples == null) {
+            return ThreadLocalRandom.current().nextDouble();
+        }
+
+        synchronized (this) {
+            RandomGenerator source = getSource(seed);
+
+            if (samples == null) {
+                return source.nextDouble();
+            }
+
+            // Refill the batch once it is used up
+            if (sampleIndex >= samples.length) {
+                for (int i = 0; i < samples.length; i++) {
+                    samples[i] = source.nextDouble();
+                }
+                sampleIndex = 0;
+            }
+
+            return samples[sampleIndex++];
         }
     }
 
+    /**
+     * Gets the generator to draw from. Must hold this setting's lock.
+     */
+    private RandomGenerator getSource(Long seed) {
+        if (seed == null) {
+            return generator != null ? generator : ThreadLocalRandom.current();
+        }
+
+        if (!seed.equals(seededFrom)) {
+            String key = (module != null ? module.getName() + "." : "") + getName();
+            seededGenerator = new SplittableRandom(seed ^ key.hashCode());
+            seededFrom = seed;
+
+            // Drop values sampled from the previous source
+            if (samples != null) {
+                sampleIndex = samples.length;
+            }
+        }
+
+        return seededGenerator;
+    }
+
     /**
      * Clamps a value between min and max.
      */
@@ -395,28 +511,75 @@ public class RangeSetting extends Setting<double[]> {
         return value[0] + "," + value[1];
     }
 
+    @Override
+    public void write(JsonWriter writer) throws IOException {
+        writer.beginArray();
+        writer.value(value[0]);
+        writer.value(value[1]);
+        writer.endArray();
+    }
+
+    @Override
+    public void read(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            super.read(reader);
+            return;
+        }
+
+        reader.beginArray();
+        double min = reader.nextDouble();
+        double max = reader.nextDouble();
+        while (reader.hasNext()) {
+            reader.skipValue();
+        }
+        reader.endArray();
+
+        setParsedRange(min, max);
+    }
+
+    @Override
+    public void write(BinaryConfigWriter out) {
+        out.writeRange(value[0], value[1]);
+    }
+
+    @Override
+    public void read(BinaryConfigReader in) throws IOException {
+        if (in.peekTag() == BinaryConfigWriter.TAG_RANGE) {
+            in.readTag();
+            double min = in.readDouble();
+            double max = in.readDouble();
+            setParsedRange(min, max);
+        } else {
+            super.read(in);
+        }
+    }
+
     @Override
     public void deserialize(String serialized) {
         try {
             String[] parts = serialized.split(",");
             if (parts.length == 2) {
-                double min = Double.parseDouble(parts[0]);
-                double max = Double.parseDouble(parts[1]);
-
-                min = clamp(min, absoluteMin, absoluteMax);
-                max = clamp(max, absoluteMin, absoluteMax);
-
-                if (min > max) {
-                    double temp = min;
-                    min = max;
-                    max = temp;
-                }
-
-                value[0] = min;
-                value[1] = max;
+                setParsedRange(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]));
             }
         } catch (Exception e) {
             value = new double[] { defaultValue[0], defaultValue[1] };
         }
     }
+
+    /**
+     * Applies a loaded range without notifying listeners.
+     */
+    private void setParsedRange(double min, double max) {
+        min = clamp(min, absoluteMin, absoluteMax);
+        max = clamp(max, absoluteMin, absoluteMax);
+
+        if (min > max) {
+            double temp = min;
+            min = max;
+            max = temp;
+        }
+
+        value[0] = min;
+        value[1] = max;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package art.ameliah.fabric.autosprintfix.core.module.settings;
+
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+import net.minecraft.core.Registry;
+import net.minecraft.resources.Identifier;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A comma separated list of registry ids (e.g. "wind_charge, end_crystal").
+ *
+ * The string form is only used for config and the GUI. It is parsed once
+ * after each change into an identity set of registry entries, so
+ * {@link #contains(Object)} is a single lookup without allocation.
+ *
+ * @param <E> The registry entry type
+ */
+public abstract class RegistrySetSetting<E> extends StringSetting {
+
+    // Registry the ids are resolved against
+    private final Registry<E> registry;
+
+    // Parsed entries (null until parsed after a change)
+    private volatile Set<E> entries;
+
+    /**
+     * Creates a new registry set setting.
+     * 
+     * @param name         The setting name
+     * @param description  The setting description
+     * @param defaultValue The default comma separated ids
+     * @param registry     The registry to resolve ids in
+     */
+    protected RegistrySetSetting(String name, String description, String defaultValue, Registry<E> registry) {
+        super(name, description, defaultValue);
+        this.registry = registry;
+    }
+
+    /**
+     * Checks if an entry is in the set.
+     * 
+     * @param entry The registry entry
+     * @return true if the entry is listed
+     */
+    public boolean contains(E entry) {
+        return resolve().contains(entry);
+    }
+
+    /**
+     * Gets the parsed entries.
+     * 
+     * @return Unmodifiable set of listed entries
+     */
+    public Set<E> getEntries() {
+        return Collections.unmodifiableSet(resolve());
+    }
+
+    @Override
+    public void setValue(String value) {
+        entries = null;
+        super.setValue(value);
+    }
+
+    @Override
+    public void deserialize(String serialized) {
+        super.deserialize(serialized);
+        entries = null;
+    }
+
+    private Set<E> resolve() {
+        Set<E> parsed = entries;
+        if (parsed == null) {
+            parsed = parse();
+            entries = parsed;
+        }
+        return parsed;
+    }
+
+    private Set<E> parse() {
+        Set<E> parsed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        String raw = getValue();
+        if (raw == null || raw.isBlank()) {
+            return parsed;
+        }
+
+        for (String part : raw.split(",")) {
+            String id = part.trim().toLowerCase(Locale.ROOT);
+            if (id.isEmpty()) {
+                continue;
+            }
+
+            Identifier key = Identifier.tryParse(id);
+            E entry = key != null ? registry.getOptional(key).orElse(null) : null;
+
+            if (entry != null) {
+                parsed.add(entry);
+            } else {
+                ModLogger.getInstance().warn("{}: unknown id '{}'", getName(), id);
+            }
+        }
+
+        return parsed;
+    }
+}
@@ -1,8 +1,17 @@
 package art.ameliah.fabric.autosprintfix.core.module.settings;
 
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigReader;
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigWriter;
 import art.ameliah.fabric.autosprintfix.config.ConfigManager;
 import art.ameliah.fabric.autosprintfix.core.module.Module;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 /**
@@ -27,8 +36,8 @@ public abstract class Setting<T> {
     // Parent module
     protected Module module;
 
-    // Change listener
-    private Consumer<T> onChange;
+    // Change subscribers
+    private final List<Consumer<? super T>> subscribers = new CopyOnWriteArrayList<>();
 
     /**
      * Creates a new setting.
@@ -77,18 +86,50 @@ public abstract class Setting<T> {
      * @param value The new value
      */
     public void setValue(T value) {
-        if (this.value != value) {
+        if (!Objects.equals(this.value, value)) {
             this.value = value;
+            changed();
+        }
+    }
 
-            // Notify listener
-            if (onChange != null) {
-                onChange.accept(value);
-            }
+    /**
+     * Notifies the subscribers and records the new value.
+     * Called after the value actually changed.
+     */
+    protected void changed() {
+        notifySubscribers();
 
-            // Save config
-            if (module != null) {
-                ConfigManager.getInstance().saveModule(module);
-            }
+        // Save config
+        if (module != null) {
+            ConfigManager.getInstance().recordSetting(this);
+        }
+    }
+
+    /**
+     * Notifies the subscribers of the current value, or defers the
+     * notification while a {@link SettingChangeBatch} is open.
+     * Call after changing the value without {@link #setValue(Object)}
+     * (e.g. {@link #deserialize(String)}).
+     */
+    public void notifySubscribers() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        if (SettingChangeBatch.isActive()) {
+            SettingChangeBatch.defer(this);
+        } else {
+            deliver();
+        }
+    }
+
+    /**
+     * Delivers the current value to all subscribers.
+     */
+    void deliver() {
+        T current = getValue();
+        for (Consumer<? super T> subscriber : subscribers) {
+            subscriber.accept(current);
         }
     }
 
@@ -127,16 +168,37 @@ public abstract class Setting<T> {
     }
 
     /**
-     * Sets a change listener.
+     * Adds a change subscriber.
      * 
-     * @param onChange The listener
+     * @param onChange The subscriber
      * @return This setting for chaining
      */
-    public Setting<T> onChange(Consumer<T> onChange) {
-        this.onChange = onChange;
+    public Setting<T> onChange(Consumer<? super T> onChange) {
+        subscribe(onChange);
         return this;
     }
 
+    /**
+     * Adds a change subscriber.
+     * Subscribers receive the new value after each change; changes made
+     * inside a {@link SettingChangeBatch} are delivered once, after the
+     * batch ends.
+     * 
+     * @param subscriber The subscriber
+     */
+    public void subscribe(Consumer<? super T> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Removes a change subscriber.
+     * 
+     * @param subscriber The subscriber
+     */
+    public void unsubscribe(Consumer<? super T> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
     /**
      * Gets the setting type identifier for serialization.
      * 
@@ -157,4 +219,61 @@ public abstract class Setting<T> {
      * @param serialized The serialized value
      */
     public abstract void deserialize(String serialized);
+
+    /**
+     * Writes the value as a single JSON token.
+     * Defaults to the serialized string; typed settings write native values.
+     * 
+     * @param writer The JSON writer
+     * @throws IOException If writing fails
+     */
+    public void write(JsonWriter writer) throws IOException {
+        writer.value(serialize());
+    }
+
+    /**
+     * Reads the value from a single JSON token.
+     * Accepts both native values and legacy serialized strings.
+     * 
+     * @param reader The JSON reader
+     * @throws IOException If reading fails
+     */
+    public void read(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+
+        switch (token) {
+            case STRING, NUMBER -> deserialize(reader.nextString());
+            case BOOLEAN -> deserialize(String.valueOf(reader.nextBoolean()));
+            default -> reader.skipValue();
+        }
+    }
+
+    /**
+     * Writes the value as a tagged binary value.
+     * Defaults to the serialized string; typed settings write native values.
+     * 
+     * @param out The binary writer
+     */
+    public void write(BinaryConfigWriter out) {
+        out.writeValue(serialize());
+    }
+
+    /**
+     * Reads the value from a tagged binary value.
+     * Values of another type are converted through {@link #deserialize(String)}.
+     * 
+     * @param in The binary reader
+     * @throws IOException If the value is malformed
+     */
+    public void read(BinaryConfigReader in) throws IOException {
+        int tag = in.readTag();
+
+        switch (tag) {
+            case BinaryConfigWriter.TAG_STRING -> deserialize(in.readString());
+            case BinaryConfigWriter.TAG_BOOLEAN -> deserialize(String.valueOf(in.readBoolean()));
+            case BinaryConfigWriter.TAG_INT -> deserialize(String.valueOf(in.readZigZag()));
+            case BinaryConfigWriter.TAG_DOUBLE -> deserialize(String.valueOf(in.readDouble()));
+            default -> in.skipValue(tag);
+        }
+    }
 }
\ No newline at end of file
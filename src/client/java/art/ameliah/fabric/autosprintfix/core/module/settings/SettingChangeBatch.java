@@ -0,0 +1,82 @@
+package art.ameliah.fabric.autosprintfix.core.module.settings;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Defers setting change notifications.
+ *
+ * While a batch is open, changed settings are collected instead of
+ * notifying their subscribers. When the outermost batch ends, each changed
+ * setting notifies its subscribers once with its final value. Used for
+ * GUI drags and profile switches. Game thread only.
+ */
+public final class SettingChangeBatch {
+
+    // Nesting depth of open batches
+    private static int depth;
+
+    // Settings changed while a batch was open
+    private static final Set<Setting<?>> pending = new LinkedHashSet<>();
+
+    private SettingChangeBatch() {
+    }
+
+    /**
+     * Runs an action with change notifications batched.
+     * 
+     * @param action The action
+     */
+    public static void run(Runnable action) {
+        begin();
+        try {
+            action.run();
+        } finally {
+            end();
+        }
+    }
+
+    /**
+     * Opens a batch. Must be paired with {@link #end()}.
+     */
+    public static void begin() {
+        depth++;
+    }
+
+    /**
+     * Closes a batch, delivering the collected changes if it was the
+     * outermost one.
+     */
+    public static void end() {
+        if (depth == 0 || --depth > 0) {
+            return;
+        }
+
+        List<Setting<?>> changed = new ArrayList<>(pending);
+        pending.clear();
+
+        for (Setting<?> setting : changed) {
+            setting.deliver();
+        }
+    }
+
+    /**
+     * Checks if a batch is open.
+     * 
+     * @return true if notifications are deferred
+     */
+    public static boolean isActive() {
+        return depth > 0;
+    }
+
+    /**
+     * Defers a setting's notification until the batch ends.
+     * 
+     * @param setting The changed setting
+     */
+    static void defer(Setting<?> setting) {
+        pending.add(setting);
+    }
+}
@@ -1,29 +1,89 @@
 package art.ameliah.fabric.autosprintfix.core.util;
 
-import java.util.ArrayList;
-import java.util.List;
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
- * Utility for scheduling tasks to execute after a specified
- * number of client ticks.
+ * Utility for scheduling tasks to execute after a number of client
+ * ticks, a number of render frames, or a {@link System#nanoTime()}
+ * deadline.
+ *
+ * Tasks are processed synchronously on the client thread: tick tasks
+ * from {@link #tick()}, frame and deadline tasks from {@link #frame()}.
  *
- * Tasks are processed synchronously during the main tick loop.
+ * Tick and frame tasks are kept in hierarchical timing wheels: tasks due
+ * within {@value #WHEEL_SIZE} steps sit in the slot of their due step,
+ * later tasks in a coarser wheel of {@value #WHEEL_SIZE}-step blocks that
+ * is moved down when a block starts, and tasks beyond that in an overflow
+ * list. Scheduling and cancelling are O(1); a step only touches the tasks
+ * that are due (plus one cascade per block). Deadline tasks are kept in a
+ * heap ordered by deadline and run in that order.
+ *
+ * Scheduling and {@link Token#cancel()} are safe from any thread. Calls
+ * from other threads go through lock-free queues that the client thread
+ * drains at the start of the next tick or frame; tick and frame delays
+ * then count from that point.
  */
 public class AsyncUtil {
 
+    // Slots of the fine wheel (one step each, power of two)
+    private static final int WHEEL_SIZE = 256;
+
+    // Slots of the coarse wheel (WHEEL_SIZE steps each, power of two)
+    private static final int COARSE_SIZE = 64;
+
+    // Bits of a step number covered by the fine wheel
+    private static final int WHEEL_BITS = Integer.numberOfTrailingZeros(WHEEL_SIZE);
+
+    // Steps covered by both wheels
+    private static final long HORIZON = (long) WHEEL_SIZE * COARSE_SIZE;
+
+    // Nominal length of a client tick
+    private static final long TICK_NANOS = 50_000_000L;
+
     /**
      * Token used to cancel scheduled tasks before they execute.
      */
     public static class Token {
 
         // Tracks whether this token has been cancelled
-        private boolean canceled = false;
+        private final AtomicBoolean canceled = new AtomicBoolean();
+
+        // Pending task in a wheel or the deadline heap (client thread only)
+        private ScheduledTask task;
+
+        // Whether a task was accepted for this token
+        boolean scheduled = false;
+
+        // Group tracking the task until it runs or is cancelled (client thread only)
+        CancellationGroup group;
+
+        // Name of the scope or module that scheduled the task (for statistics)
+        String owner;
 
         /**
          * Cancels the associated scheduled task.
+         * Safe to call from any thread.
          */
         public void cancel() {
-            canceled = true;
+            if (!canceled.compareAndSet(false, true)) {
+                return;
+            }
+
+            if (isTickThread()) {
+                remove(this);
+            } else {
+                // The client thread removes the task; it also checks the flag before running
+                cancellations.offer(this);
+            }
         }
 
         /**
@@ -32,79 +92,552 @@ public class AsyncUtil {
          * @return True if cancelled, otherwise false
          */
         public boolean isCanceled() {
-            return canceled;
+            return canceled.get();
         }
     }
 
-    // Internal representation of a scheduled task
+    // Internal representation of a scheduled task (node of a slot list)
     private static class ScheduledTask {
 
         Runnable action;
-        int remainingTicks;
         Token token;
 
+        // Due step of the owning wheel, or nanoTime deadline if wheel is null
+        long due;
+
+        // Owning wheel (null for deadline tasks)
+        Wheel wheel;
+
+        // Submission order, breaks ties between equal deadlines
+        long sequence;
+
+        // nanoTime of submission
+        long submittedAt;
+
+        // Delay in steps and the step the task should run on (wheel tasks)
+        long delaySteps;
+        long requestedStep;
+
+        // Neighbours in the slot's circular list
+        ScheduledTask prev = this;
+        ScheduledTask next = this;
+
+        /**
+         * Creates a list head.
+         */
+        ScheduledTask() {
+        }
+
         /**
          * Creates a new scheduled task.
          *
          * @param action The action to execute
-         * @param ticks  Number of ticks to wait before execution
-         * @param token  Optional cancellation token
+         * @param due    Due step, or nanoTime deadline
+         * @param wheel  Owning wheel, or null for a deadline task
+         * @param token  Cancellation token
          */
-        ScheduledTask(Runnable action, int ticks, Token token) {
+        ScheduledTask(Runnable action, long due, Wheel wheel, Token token) {
             this.action = action;
-            this.remainingTicks = ticks;
+            this.due = due;
+            this.wheel = wheel;
             this.token = token;
         }
+
+        void append(ScheduledTask task) {
+            task.prev = prev;
+            task.next = this;
+            prev.next = task;
+            prev = task;
+        }
+
+        void unlink() {
+            prev.next = next;
+            next.prev = prev;
+            prev = this;
+            next = this;
+        }
+
+        boolean isEmpty() {
+            return next == this;
+        }
     }
 
-    // List of all scheduled tick tasks
-    private static final List<ScheduledTask> tickTasks = new ArrayList<>();
+    /**
+     * Hierarchical timing wheel advanced one step at a time.
+     */
+    private static final class Wheel {
+
+        // Nominal step length in nanoseconds (0 if steps are not timed)
+        private final long stepNanos;
+
+        // Fine wheel: tasks due within WHEEL_SIZE steps, by due step
+        private final ScheduledTask[] slots = createSlots(WHEEL_SIZE);
+
+        // Coarse wheel: tasks due within HORIZON steps, by block
+        private final ScheduledTask[] coarseSlots = createSlots(COARSE_SIZE);
+
+        // Tasks due after HORIZON steps
+        private final ScheduledTask overflow = new ScheduledTask();
+
+        // Number of processed steps (read by submitting threads)
+        private volatile long current = 0;
+
+        // Number of pending tasks
+        private int pending = 0;
+
+        Wheel(long stepNanos) {
+            this.stepNanos = stepNanos;
+        }
+
+        /**
+         * Adds a task due after a number of steps (at least one).
+         */
+        void schedule(ScheduledTask task, long delay) {
+            task.due = current + Math.max(1, delay);
+            task.token.task = task;
+            insert(task);
+            pending++;
+        }
+
+        void unlink(ScheduledTask task) {
+            task.unlink();
+            pending--;
+        }
+
+        /**
+         * Advances one step and runs the tasks due on it.
+         */
+        void advance() {
+            long step = ++current;
+
+            if ((step & (WHEEL_SIZE - 1)) == 0) {
+                // Re-sort overflow tasks once per full rotation of both wheels
+                if ((step & (HORIZON - 1)) == 0) {
+                    cascade(overflow);
+                }
+
+                // Move this block's tasks down to the fine wheel
+                cascade(coarseSlots[(int) (step >>> WHEEL_BITS) & (COARSE_SIZE - 1)]);
+            }
+
+            ScheduledTask slot = slots[(int) step & (WHEEL_SIZE - 1)];
+            if (slot.isEmpty()) {
+                return;
+            }
+
+            // Detach the due tasks so tasks scheduled while running are kept apart
+            ScheduledTask due = new ScheduledTask();
+            moveAll(slot, due);
+
+            long now = stepNanos > 0 ? System.nanoTime() : 0;
+
+            while (!due.isEmpty()) {
+                ScheduledTask task = due.next;
+                task.unlink();
+                pending--;
+                release(task.token);
+
+                if (stepNanos > 0 && !task.token.isCanceled()) {
+                    stats.recordTick(step - task.requestedStep, now - task.submittedAt - task.delaySteps * stepNanos);
+                }
+
+                run(task);
+            }
+        }
+
+        void forEach(Consumer<ScheduledTask> consumer) {
+            for (ScheduledTask slot : slots) {
+                forEachInSlot(slot, consumer);
+            }
+            for (ScheduledTask slot : coarseSlots) {
+                forEachInSlot(slot, consumer);
+            }
+            forEachInSlot(overflow, consumer);
+        }
+
+        void clear() {
+            for (ScheduledTask slot : slots) {
+                clearSlot(slot);
+            }
+            for (ScheduledTask slot : coarseSlots) {
+                clearSlot(slot);
+            }
+            clearSlot(overflow);
+
+            pending = 0;
+        }
+
+        private void insert(ScheduledTask task) {
+            long delay = task.due - current;
+
+            if (delay < WHEEL_SIZE) {
+                slots[(int) task.due & (WHEEL_SIZE - 1)].append(task);
+            } else if (delay < HORIZON) {
+                coarseSlots[(int) (task.due >>> WHEEL_BITS) & (COARSE_SIZE - 1)].append(task);
+            } else {
+                overflow.append(task);
+            }
+        }
+
+        /**
+         * Re-inserts all tasks of a slot relative to the current step.
+         */
+        private void cascade(ScheduledTask slot) {
+            if (slot.isEmpty()) {
+                return;
+            }
+
+            ScheduledTask moved = new ScheduledTask();
+            moveAll(slot, moved);
+
+            while (!moved.isEmpty()) {
+                ScheduledTask task = moved.next;
+                task.unlink();
+                insert(task);
+            }
+        }
+    }
+
+    // Tasks counted in client ticks
+    private static final Wheel ticks = new Wheel(TICK_NANOS);
+
+    // Tasks counted in render frames
+    private static final Wheel frames = new Wheel(0);
+
+    // Tasks due at a nanoTime deadline, earliest first
+    private static final PriorityQueue<ScheduledTask> deadlines = new PriorityQueue<>((a, b) -> {
+        int order = Long.compare(a.due - b.due, 0);
+        return order != 0 ? order : Long.compare(a.sequence, b.sequence);
+    });
+
+    // Tasks submitted from other threads (tick and frame delays not yet applied)
+    private static final Queue<ScheduledTask> submissions = new ConcurrentLinkedQueue<>();
+
+    // Tokens cancelled from other threads
+    private static final Queue<Token> cancellations = new ConcurrentLinkedQueue<>();
+
+    // Thread that runs tick() and frame() (the client thread)
+    private static volatile Thread tickThread;
+
+    // Next deadline task sequence number (client thread only)
+    private static long nextSequence = 0;
+
+    // Lateness and execution time statistics (client thread only)
+    private static final SchedulerStats stats = new SchedulerStats();
 
     /**
-     * Updates and executes scheduled tasks.
+     * Updates and executes scheduled tick tasks.
      *
      * Should be called once per game tick.
      */
     public static void tick() {
-        List<ScheduledTask> tasksCopy = new ArrayList<>(tickTasks);
-
-        for (ScheduledTask task : tasksCopy) {
-            task.remainingTicks--;
-
-            if (task.remainingTicks <= 0) {
-                if (task.token == null || !task.token.isCanceled()) {
-                    try {
-                        task.action.run();
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-                tickTasks.remove(task);
+        drainQueues();
+        ticks.advance();
+    }
+
+    /**
+     * Updates and executes scheduled frame tasks, then deadline tasks
+     * whose deadline has passed.
+     *
+     * Should be called once per render frame.
+     */
+    public static void frame() {
+        drainQueues();
+        frames.advance();
+
+        long now = System.nanoTime();
+        ScheduledTask task;
+        while ((task = deadlines.peek()) != null && now - task.due >= 0) {
+            deadlines.poll();
+            release(task.token);
+
+            if (!task.token.isCanceled()) {
+                stats.recordDeadline(now - task.due);
             }
+
+            run(task);
         }
     }
 
     /**
      * Schedules a task to run after a specified number of ticks.
+     * A delay of 0 runs the task on the next tick.
      *
      * @param ticks    Number of ticks to delay execution
      * @param runnable Task to execute after delay
      * @return Token that can be used to cancel the task
      */
     public static Token delayTicks(int ticks, Runnable runnable) {
+        return delaySteps(AsyncUtil.ticks, ticks, runnable);
+    }
+
+    /**
+     * Schedules a task to run after a specified number of render frames.
+     * A delay of 0 runs the task on the next frame.
+     *
+     * @param frames   Number of frames to delay execution
+     * @param runnable Task to execute after delay
+     * @return Token that can be used to cancel the task
+     */
+    public static Token delayFrames(int frames, Runnable runnable) {
+        return delaySteps(AsyncUtil.frames, frames, runnable);
+    }
+
+    /**
+     * Schedules a task to run on the first frame after a delay in
+     * milliseconds has passed.
+     *
+     * @param millis   Milliseconds to delay execution
+     * @param runnable Task to execute after delay
+     * @return Token that can be used to cancel the task
+     */
+    public static Token delayMillis(long millis, Runnable runnable) {
+        return delayNanos(TimeUnit.MILLISECONDS.toNanos(millis), runnable);
+    }
+
+    /**
+     * Schedules a task to run on the first frame after a delay in
+     * nanoseconds has passed.
+     *
+     * @param nanos    Nanoseconds to delay execution
+     * @param runnable Task to execute after delay
+     * @return Token that can be used to cancel the task
+     */
+    public static Token delayNanos(long nanos, Runnable runnable) {
         Token token = new Token();
 
-        if (runnable != null && ticks >= 0) {
-            tickTasks.add(new ScheduledTask(runnable, ticks, token));
+        if (runnable != null && nanos >= 0) {
+            long now = System.nanoTime();
+            ScheduledTask task = new ScheduledTask(runnable, now + nanos, null, token);
+            task.submittedAt = now;
+            token.scheduled = true;
+
+            if (isTickThread()) {
+                addDeadline(task);
+            } else {
+                submissions.offer(task);
+            }
         }
 
         return token;
     }
 
     /**
-     * Clears all scheduled tasks.
+     * Gets the number of pending tasks.
+     *
+     * @return The pending task count, including queued submissions
+     */
+    public static int getPendingCount() {
+        return ticks.pending + frames.pending + deadlines.size() + submissions.size();
+    }
+
+    /**
+     * Gets the number of processed ticks.
+     *
+     * @return The current tick
+     */
+    public static long getCurrentTick() {
+        return ticks.current;
+    }
+
+    /**
+     * Gets the number of processed frames.
+     *
+     * @return The current frame
+     */
+    public static long getCurrentFrame() {
+        return frames.current;
+    }
+
+    /**
+     * Gets the number of pending tasks by owner (the name of the scope or
+     * module they were scheduled through, or {@link SchedulerStats#UNSCOPED}).
+     * Must be called on the client thread.
+     *
+     * @return Pending task counts keyed by owner name
+     */
+    public static Map<String, Integer> getPendingByOwner() {
+        Map<String, Integer> counts = new TreeMap<>();
+        forEachPending(task -> counts.merge(task.token.owner != null ? task.token.owner : SchedulerStats.UNSCOPED, 1,
+                Integer::sum));
+        return counts;
+    }
+
+    /**
+     * Gets how long the oldest pending task has been waiting.
+     * Must be called on the client thread.
+     *
+     * @return The age in nanoseconds, or -1 if nothing is pending
+     */
+    public static long getOldestPendingAge() {
+        long[] oldest = { Long.MAX_VALUE };
+        forEachPending(task -> oldest[0] = Math.min(oldest[0], task.submittedAt));
+        return oldest[0] == Long.MAX_VALUE ? -1 : System.nanoTime() - oldest[0];
+    }
+
+    /**
+     * Gets the scheduler statistics. Must be used on the client thread.
+     *
+     * @return The statistics
+     */
+    public static SchedulerStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Clears all scheduled tasks. Must be called on the client thread.
      */
     public static void clear() {
-        tickTasks.clear();
+        ScheduledTask submitted;
+        while ((submitted = submissions.poll()) != null) {
+            release(submitted.token);
+        }
+        cancellations.clear();
+
+        ticks.clear();
+        frames.clear();
+
+        for (ScheduledTask task : deadlines) {
+            release(task.token);
+        }
+        deadlines.clear();
+    }
+
+    private static Token delaySteps(Wheel wheel, int steps, Runnable runnable) {
+        Token token = new Token();
+
+        if (runnable != null && steps >= 0) {
+            token.scheduled = true;
+
+            ScheduledTask task = new ScheduledTask(runnable, 0, wheel, token);
+            task.submittedAt = System.nanoTime();
+            task.delaySteps = Math.max(1, steps);
+            task.requestedStep = wheel.current + task.delaySteps;
+
+            if (isTickThread()) {
+                wheel.schedule(task, task.delaySteps);
+            } else {
+                // Due step is resolved when the client thread drains the queue
+                submissions.offer(task);
+            }
+        }
+
+        return token;
+    }
+
+    private static void forEachPending(Consumer<ScheduledTask> consumer) {
+        for (Wheel wheel : new Wheel[] { ticks, frames }) {
+            wheel.forEach(consumer);
+        }
+        deadlines.forEach(consumer);
+        submissions.forEach(consumer);
+    }
+
+    private static boolean isTickThread() {
+        return Thread.currentThread() == tickThread;
+    }
+
+    /**
+     * Moves tasks and cancellations from other threads into the scheduler.
+     */
+    private static void drainQueues() {
+        tickThread = Thread.currentThread();
+
+        Token token;
+        while ((token = cancellations.poll()) != null) {
+            remove(token);
+        }
+
+        ScheduledTask task;
+        while ((task = submissions.poll()) != null) {
+            if (task.token.isCanceled()) {
+                release(task.token);
+                continue;
+            }
+
+            if (task.wheel != null) {
+                task.wheel.schedule(task, task.delaySteps);
+            } else {
+                addDeadline(task);
+            }
+        }
+    }
+
+    private static void addDeadline(ScheduledTask task) {
+        task.sequence = nextSequence++;
+        task.token.task = task;
+        deadlines.add(task);
+    }
+
+    private static void remove(Token token) {
+        ScheduledTask task = token.task;
+        if (task != null) {
+            if (task.wheel != null) {
+                task.wheel.unlink(task);
+            } else {
+                deadlines.remove(task);
+            }
+        }
+
+        release(token);
+    }
+
+    /**
+     * Detaches a token whose task has run or been dropped.
+     */
+    private static void release(Token token) {
+        token.task = null;
+
+        if (token.group != null) {
+            token.group.release(token);
+            token.group = null;
+        }
+    }
+
+    private static void run(ScheduledTask task) {
+        if (task.token.isCanceled()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            task.action.run();
+        } catch (Exception e) {
+            ModLogger.getInstance().error("Scheduled task failed", e);
+        }
+
+        stats.recordExecution(task.token.owner, System.nanoTime() - start);
+    }
+
+    private static void moveAll(ScheduledTask from, ScheduledTask to) {
+        to.next = from.next;
+        to.prev = from.prev;
+        to.next.prev = to;
+        to.prev.next = to;
+        from.next = from;
+        from.prev = from;
+    }
+
+    private static void forEachInSlot(ScheduledTask slot, Consumer<ScheduledTask> consumer) {
+        for (ScheduledTask task = slot.next; task != slot; task = task.next) {
+            consumer.accept(task);
+        }
+    }
+
+    private static void clearSlot(ScheduledTask slot) {
+        while (!slot.isEmpty()) {
+            ScheduledTask task = slot.next;
+            task.unlink();
+            release(task.token);
+        }
+    }
+
+    private static ScheduledTask[] createSlots(int count) {
+        ScheduledTask[] slots = new ScheduledTask[count];
+        for (int i = 0; i < count; i++) {
+            slots[i] = new ScheduledTask();
+        }
+        return slots;
     }
 }
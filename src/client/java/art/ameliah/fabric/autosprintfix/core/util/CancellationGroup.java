@@ -0,0 +1,148 @@
+package art.ameliah.fabric.autosprintfix.core.util;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Set of pending scheduler tasks and running {@link TickFuture}s that
+ * can be cancelled at once, e.g. everything a module scheduled when it
+ * is disabled.
+ *
+ * Tasks and futures leave the group when they run, finish or are
+ * cancelled, so the group only references work that is still pending.
+ * Must be used on the client thread.
+ */
+public final class CancellationGroup {
+
+    // Owner name shown in scheduler statistics (null if anonymous)
+    private final String name;
+
+    // Pending tasks scheduled through this group
+    private final Set<AsyncUtil.Token> tokens = new HashSet<>();
+
+    // Running futures of this group
+    private final Set<TickFuture<?>> futures = new HashSet<>();
+
+    /**
+     * Creates an anonymous group.
+     */
+    public CancellationGroup() {
+        this(null);
+    }
+
+    /**
+     * Creates a named group. The name identifies its tasks in
+     * {@link SchedulerStats} and {@link AsyncUtil#getPendingByOwner()}.
+     *
+     * @param name The owner name
+     */
+    public CancellationGroup(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the owner name.
+     *
+     * @return The name, or null if anonymous
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Schedules a task in this group. See {@link AsyncUtil#delayTicks(int, Runnable)}.
+     *
+     * @param ticks    Number of ticks to delay execution
+     * @param runnable Task to execute after delay
+     * @return Token that can be used to cancel the task
+     */
+    public AsyncUtil.Token delayTicks(int ticks, Runnable runnable) {
+        return track(AsyncUtil.delayTicks(ticks, runnable));
+    }
+
+    /**
+     * Schedules a task in this group. See {@link AsyncUtil#delayFrames(int, Runnable)}.
+     *
+     * @param frames   Number of frames to delay execution
+     * @param runnable Task to execute after delay
+     * @return Token that can be used to cancel the task
+     */
+    public AsyncUtil.Token delayFrames(int frames, Runnable runnable) {
+        return track(AsyncUtil.delayFrames(frames, runnable));
+    }
+
+    /**
+     * Schedules a task in this group. See {@link AsyncUtil#delayMillis(long, Runnable)}.
+     *
+     * @param millis   Milliseconds to delay execution
+     * @param runnable Task to execute after delay
+     * @return Token that can be used to cancel the task
+     */
+    public AsyncUtil.Token delayMillis(long millis, Runnable runnable) {
+        return track(AsyncUtil.delayMillis(millis, runnable));
+    }
+
+    /**
+     * Cancels every pending task and running future of this group.
+     */
+    public void cancelAll() {
+        if (isEmpty()) {
+            return;
+        }
+
+        // Copy first: cancelling removes entries and handlers may schedule new ones
+        AsyncUtil.Token[] pending = tokens.toArray(new AsyncUtil.Token[0]);
+        TickFuture<?>[] running = futures.toArray(new TickFuture<?>[0]);
+        tokens.clear();
+        futures.clear();
+
+        for (AsyncUtil.Token token : pending) {
+            token.cancel();
+        }
+        for (TickFuture<?> future : running) {
+            future.cancel();
+        }
+    }
+
+    /**
+     * Gets the number of pending tasks and running futures.
+     *
+     * @return The pending entry count
+     */
+    public int size() {
+        return tokens.size() + futures.size();
+    }
+
+    /**
+     * Checks if nothing of this group is pending.
+     *
+     * @return True if empty, otherwise false
+     */
+    public boolean isEmpty() {
+        return tokens.isEmpty() && futures.isEmpty();
+    }
+
+    private AsyncUtil.Token track(AsyncUtil.Token token) {
+        // Nothing was scheduled (null task or negative delay)
+        if (!token.scheduled) {
+            return token;
+        }
+
+        token.group = this;
+        token.owner = name;
+        tokens.add(token);
+        return token;
+    }
+
+    void add(TickFuture<?> future) {
+        futures.add(future);
+    }
+
+    void remove(TickFuture<?> future) {
+        futures.remove(future);
+    }
+
+    void release(AsyncUtil.Token token) {
+        tokens.remove(token);
+    }
+}
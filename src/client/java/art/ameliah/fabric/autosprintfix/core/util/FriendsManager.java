@@ -2,10 +2,13 @@ package art.ameliah.fabric.autosprintfix.core.util;
 
 import java.util.stream.Collectors;
 
+import art.ameliah.fabric.autosprintfix.config.PersistenceService;
+import art.ameliah.fabric.autosprintfix.config.PersistentStore;
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 import net.minecraft.client.Minecraft;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
@@ -14,26 +17,47 @@ public class FriendsManager {
 
     private static final ModLogger logger = ModLogger.getInstance();
 
-    private static final Path configDir = Minecraft.getInstance().gameDirectory
+    private static final PersistenceService persistence = PersistenceService.getInstance();
+
+    private static final Set<String> friends = new HashSet<>();
+
+    private static final Path friendsFile = persistence.getConfigDir().resolve("Friends.txt");
+
+    // Location used by older versions (config/autosprintfix in the game directory)
+    private static final Path legacyFriendsFile = Minecraft.getInstance().gameDirectory
             .toPath()
             .resolve("config")
-            .resolve("autosprintfix");
+            .resolve("autosprintfix")
+            .resolve("Friends.txt");
 
-    private static final Set<String> friends = new HashSet<>();
+    private static final PersistentStore store = new PersistentStore() {
+        @Override
+        public Path getPath() {
+            return friendsFile;
+        }
 
-    private static final Path friendsFile = configDir.resolve("Friends.txt");
+        @Override
+        public byte[] capture() {
+            StringBuilder builder = new StringBuilder();
+            for (String friend : friends) {
+                builder.append(friend).append('\n');
+            }
+            return builder.toString().getBytes(StandardCharsets.UTF_8);
+        }
+    };
 
     public static void load() {
-        try {
-            if (!Files.exists(friendsFile)) {
-                Files.createFile(friendsFile);
+        persistence.register(store);
 
-                return;
-            }
+        Path source = Files.exists(friendsFile) ? friendsFile : legacyFriendsFile;
+        if (!Files.exists(source)) {
+            return;
+        }
 
+        try {
             friends.clear();
             friends.addAll(
-                    Files.readAllLines(friendsFile)
+                    Files.readAllLines(source)
                             .stream()
                             .map(String::trim)
                             .filter(s -> !s.isEmpty())
@@ -41,15 +65,17 @@ public class FriendsManager {
                             .collect(Collectors.toSet()));
         } catch (IOException e) {
             logger.error("Failed to load friends list: " + e.getMessage());
+            return;
+        }
+
+        if (source == legacyFriendsFile) {
+            save();
+            logger.info("Moved friends list to {}", friendsFile);
         }
     }
 
     public static void save() {
-        try {
-            Files.write(friendsFile, friends);
-        } catch (IOException e) {
-            logger.error("Failed to save friends list: " + e.getMessage());
-        }
+        persistence.markDirty(store);
     }
 
     public static boolean add(String name) {
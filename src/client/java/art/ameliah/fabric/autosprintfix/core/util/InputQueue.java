@@ -0,0 +1,226 @@
+package art.ameliah.fabric.autosprintfix.core.util;
+
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+
+import com.mojang.blaze3d.platform.InputConstants;
+
+import net.minecraft.client.KeyMapping;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.Options;
+
+import java.util.function.Function;
+
+/**
+ * Collects simulated key presses from all modules and applies them in
+ * one batch.
+ *
+ * Requests for the same action within a batch are merged into a single
+ * click held for the longest requested duration. Of two opposite
+ * movement keys only the request with the higher priority (or the
+ * earlier one on a tie) is applied. The batch is flushed after each
+ * event that modules act in (tick, frame and attack), in the order of
+ * {@link Action}, and releases are scheduled on {@link AsyncUtil}.
+ *
+ * Must be used on the client thread.
+ */
+public final class InputQueue {
+
+    /**
+     * Keys that can be simulated.
+     */
+    public enum Action {
+        ATTACK(options -> options.keyAttack),
+        USE(options -> options.keyUse),
+        FORWARD(options -> options.keyUp),
+        BACK(options -> options.keyDown),
+        LEFT(options -> options.keyLeft),
+        RIGHT(options -> options.keyRight),
+        JUMP(options -> options.keyJump),
+        SNEAK(options -> options.keyShift),
+        SPRINT(options -> options.keySprint);
+
+        // Resolves the key mapping from the game options
+        private final Function<Options, KeyMapping> mapping;
+
+        Action(Function<Options, KeyMapping> mapping) {
+            this.mapping = mapping;
+        }
+
+        /**
+         * Gets the action that cannot be applied in the same batch.
+         *
+         * @return The opposite movement action, or null
+         */
+        private Action opposite() {
+            return switch (this) {
+                case FORWARD -> BACK;
+                case BACK -> FORWARD;
+                case LEFT -> RIGHT;
+                case RIGHT -> LEFT;
+                default -> null;
+            };
+        }
+    }
+
+    private static final Action[] ACTIONS = Action.values();
+
+    // Requests of the current batch, by action ordinal
+    private static final boolean[] queued = new boolean[ACTIONS.length];
+    private static final int[] holdTicks = new int[ACTIONS.length];
+    private static final int[] priorities = new int[ACTIONS.length];
+    private static final int[] order = new int[ACTIONS.length];
+
+    // Number of requests in the current batch
+    private static int size = 0;
+
+    // Keys held down until their release, by action ordinal
+    private static final InputConstants.Key[] heldKeys = new InputConstants.Key[ACTIONS.length];
+    private static final long[] releaseTicks = new long[ACTIONS.length];
+    private static final AsyncUtil.Token[] releaseTokens = new AsyncUtil.Token[ACTIONS.length];
+
+    // Release task per action (allocated once)
+    private static final Runnable[] releaseTasks = new Runnable[ACTIONS.length];
+
+    static {
+        for (Action action : ACTIONS) {
+            releaseTasks[action.ordinal()] = () -> release(action.ordinal());
+        }
+    }
+
+    private InputQueue() {
+    }
+
+    /**
+     * Requests a key press in the current batch.
+     *
+     * @param action    The key to press
+     * @param holdTicks Ticks to hold the key (0 releases it right after the click)
+     * @param priority  Priority against conflicting requests (higher wins)
+     */
+    public static void submit(Action action, int holdTicks, int priority) {
+        InputRecorder.recordInput(action, holdTicks, priority);
+
+        int index = action.ordinal();
+
+        if (!queued[index]) {
+            queued[index] = true;
+            InputQueue.holdTicks[index] = Math.max(0, holdTicks);
+            priorities[index] = priority;
+            order[index] = size++;
+            return;
+        }
+
+        // Duplicate request: one click, longest hold, highest priority
+        InputQueue.holdTicks[index] = Math.max(InputQueue.holdTicks[index], holdTicks);
+        priorities[index] = Math.max(priorities[index], priority);
+    }
+
+    /**
+     * Applies and clears the current batch.
+     */
+    public static void flush() {
+        if (size == 0) {
+            return;
+        }
+
+        Minecraft mc = Minecraft.getInstance();
+
+        for (Action action : ACTIONS) {
+            int index = action.ordinal();
+            if (!queued[index] || !wins(action)) {
+                continue;
+            }
+
+            try {
+                press(mc, action);
+            } catch (Exception e) {
+                ModLogger.getInstance().error("Input {} failed: {}", action, e.getMessage());
+            }
+        }
+
+        for (Action action : ACTIONS) {
+            queued[action.ordinal()] = false;
+        }
+        size = 0;
+    }
+
+    /**
+     * Drops pending requests and releases all held keys.
+     */
+    public static void clear() {
+        for (Action action : ACTIONS) {
+            int index = action.ordinal();
+            queued[index] = false;
+
+            if (releaseTokens[index] != null) {
+                releaseTokens[index].cancel();
+            }
+            release(index);
+        }
+        size = 0;
+    }
+
+    /**
+     * Checks whether a request beats the request for the opposite key.
+     */
+    private static boolean wins(Action action) {
+        Action opposite = action.opposite();
+        if (opposite == null || !queued[opposite.ordinal()]) {
+            return true;
+        }
+
+        int index = action.ordinal();
+        int other = opposite.ordinal();
+
+        if (priorities[index] != priorities[other]) {
+            return priorities[index] > priorities[other];
+        }
+        return order[index] < order[other];
+    }
+
+    private static void press(Minecraft mc, Action action) {
+        int index = action.ordinal();
+        InputConstants.Key key = InteractionUtil.getKeyFromKeyMapping(action.mapping.apply(mc.options));
+        if (key == null) {
+            return;
+        }
+
+        KeyMapping.set(key, true);
+        KeyMapping.click(key);
+
+        int hold = holdTicks[index];
+        boolean holding = releaseTokens[index] != null;
+
+        if (hold == 0) {
+            // Keep the key down if an earlier request still holds it
+            if (!holding) {
+                KeyMapping.set(key, false);
+            }
+            return;
+        }
+
+        long releaseTick = AsyncUtil.getCurrentTick() + hold;
+        if (holding && releaseTicks[index] >= releaseTick) {
+            return;
+        }
+
+        if (holding) {
+            releaseTokens[index].cancel();
+        }
+
+        heldKeys[index] = key;
+        releaseTicks[index] = releaseTick;
+        releaseTokens[index] = AsyncUtil.delayTicks(hold, releaseTasks[index]);
+    }
+
+    private static void release(int index) {
+        InputConstants.Key key = heldKeys[index];
+
+        heldKeys[index] = null;
+        releaseTokens[index] = null;
+
+        if (key != null) {
+            KeyMapping.set(key, false);
+        }
+    }
+}
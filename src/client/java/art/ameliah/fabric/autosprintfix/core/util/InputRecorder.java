@@ -0,0 +1,216 @@
+package art.ameliah.fabric.autosprintfix.core.util;
+
+import art.ameliah.fabric.autosprintfix.config.PersistenceService;
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+/**
+ * Records synthesized input to a binary ring file.
+ *
+ * Captures every key press submitted to {@link InputQueue}, every
+ * movement input changed by a module and every hotbar slot change. Each
+ * record is stamped with the tick and frame since recording started.
+ *
+ * The file is a 32-byte header followed by a ring of fixed-size 16-byte
+ * records. Once the ring is full the oldest records are overwritten, so
+ * a recording always holds the latest window. The ring is filled in
+ * memory and written with a temp file and rename on the
+ * {@link PersistenceService} writer thread when recording stops, so the
+ * game thread never touches the disk and no file stays open or mapped.
+ * Recording stops with the session. Record layout (big-endian):
+ *
+ * int tick | int frame | byte type | byte a | short b | int c
+ *
+ * - INPUT: a = {@link InputQueue.Action} ordinal, b = hold ticks, c = priority
+ * - MOVEMENT: a = original movement bits, b = modified movement bits
+ * - SLOT: a = selected hotbar slot
+ *
+ * Must be used on the client thread.
+ */
+public final class InputRecorder {
+
+    // File identification
+    static final int MAGIC = 0x41534652; // "ASFR"
+    static final short VERSION = 1;
+
+    // Sizes in bytes
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 16;
+
+    // Header field offsets
+    static final int CAPACITY_OFFSET = 8;
+    static final int WRITTEN_OFFSET = 12;
+
+    // Record types
+    static final byte TYPE_INPUT = 1;
+    static final byte TYPE_MOVEMENT = 2;
+    static final byte TYPE_SLOT = 3;
+
+    // Movement bits
+    public static final int MOVE_FORWARD = 1;
+    public static final int MOVE_BACKWARD = 1 << 1;
+    public static final int MOVE_LEFT = 1 << 2;
+    public static final int MOVE_RIGHT = 1 << 3;
+    public static final int MOVE_JUMP = 1 << 4;
+    public static final int MOVE_SHIFT = 1 << 5;
+
+    // Records kept in the ring
+    private static final int CAPACITY = Integer.getInteger("autosprintfix.inputRecordCapacity", 1 << 16);
+
+    private static final ModLogger logger = ModLogger.getInstance();
+
+    // Ring of the active recording (null when not recording)
+    private static ByteBuffer buffer;
+
+    // File the recording is written to on stop
+    private static File file;
+
+    // Records written since start
+    private static long written = 0;
+
+    // Tick and frame at start
+    private static long startTick = 0;
+    private static long startFrame = 0;
+
+    private InputRecorder() {
+    }
+
+    /**
+     * Starts recording. The file's content is replaced when recording stops.
+     *
+     * @param target The recording file
+     * @return true if recording started
+     */
+    public static boolean start(File target) {
+        stop();
+
+        if (InputReplayer.isReplaying()) {
+            return false;
+        }
+
+        buffer = ByteBuffer.allocate(HEADER_SIZE + CAPACITY * RECORD_SIZE);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putShort(6, (short) RECORD_SIZE);
+        buffer.putInt(CAPACITY_OFFSET, CAPACITY);
+        buffer.putLong(WRITTEN_OFFSET, 0);
+
+        file = target;
+        written = 0;
+        startTick = AsyncUtil.getCurrentTick();
+        startFrame = AsyncUtil.getCurrentFrame();
+
+        logger.info("Recording input to {}", target.getName());
+        return true;
+    }
+
+    /**
+     * Stops recording and queues writing the file.
+     *
+     * @return The number of records kept, or -1 if not recording
+     */
+    public static long stop() {
+        if (buffer == null) {
+            return -1;
+        }
+
+        long kept = Math.min(written, CAPACITY);
+        File target = file;
+
+        // The ring is handed over; a new recording allocates its own
+        PersistenceService.getInstance().writeAsync(target.toPath(), buffer.array(), success -> {
+            if (success) {
+                logger.info("Recorded {} input records to {}", kept, target.getName());
+            }
+        });
+
+        buffer = null;
+        file = null;
+        return kept;
+    }
+
+    /**
+     * Checks whether a recording is active.
+     *
+     * @return true if recording
+     */
+    public static boolean isRecording() {
+        return buffer != null;
+    }
+
+    /**
+     * Gets the number of records written since start.
+     *
+     * @return The record count
+     */
+    public static long getWritten() {
+        return written;
+    }
+
+    /**
+     * Records a key press submitted to the input queue.
+     *
+     * @param action    The key
+     * @param holdTicks Requested hold ticks
+     * @param priority  Requested priority
+     */
+    public static void recordInput(InputQueue.Action action, int holdTicks, int priority) {
+        if (buffer != null) {
+            write(TYPE_INPUT, action.ordinal(), holdTicks, priority);
+        }
+    }
+
+    /**
+     * Records a movement input change made by modules.
+     *
+     * @param original The movement bits before modules ran
+     * @param modified The movement bits after modules ran
+     */
+    public static void recordMovement(int original, int modified) {
+        if (buffer != null && original != modified) {
+            write(TYPE_MOVEMENT, original, modified, 0);
+        }
+    }
+
+    /**
+     * Records a hotbar slot change.
+     *
+     * @param slot The new selected slot
+     */
+    public static void recordSlot(int slot) {
+        if (buffer != null) {
+            write(TYPE_SLOT, slot, 0, 0);
+        }
+    }
+
+    /**
+     * Packs movement flags into movement bits.
+     *
+     * @return The movement bits
+     */
+    public static int movementBits(boolean forward, boolean backward, boolean left, boolean right, boolean jump,
+            boolean shift) {
+        return (forward ? MOVE_FORWARD : 0)
+                | (backward ? MOVE_BACKWARD : 0)
+                | (left ? MOVE_LEFT : 0)
+                | (right ? MOVE_RIGHT : 0)
+                | (jump ? MOVE_JUMP : 0)
+                | (shift ? MOVE_SHIFT : 0);
+    }
+
+    private static void write(byte type, int a, int b, int c) {
+        int position = HEADER_SIZE + (int) (written % CAPACITY) * RECORD_SIZE;
+
+        buffer.putInt(position, (int) (AsyncUtil.getCurrentTick() - startTick));
+        buffer.putInt(position + 4, (int) (AsyncUtil.getCurrentFrame() - startFrame));
+        buffer.put(position + 8, type);
+        buffer.put(position + 9, (byte) a);
+        buffer.putShort(position + 10, (short) b);
+        buffer.putInt(position + 12, c);
+
+        written++;
+        buffer.putLong(WRITTEN_OFFSET, written);
+    }
+}
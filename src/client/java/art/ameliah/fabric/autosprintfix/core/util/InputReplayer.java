@@ -0,0 +1,272 @@
+package art.ameliah.fabric.autosprintfix.core.util;
+
+import art.ameliah.fabric.autosprintfix.config.PersistenceService;
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+
+import net.minecraft.client.Minecraft;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.function.IntConsumer;
+
+/**
+ * Replays a recording made by {@link InputRecorder}.
+ *
+ * Records are fed back through the same pipeline they were captured
+ * from: key presses are submitted to {@link InputQueue}, movement
+ * changes override the movement input of their tick and slot changes
+ * select the hotbar slot. A record is applied at the first tick or
+ * frame hook whose tick since replay start has reached the recorded
+ * tick: input recorded between ticks is replayed in the frame hook and
+ * input recorded during a tick in the tick hook of that tick. Frame
+ * stamps are informational, so replays stay tick-accurate at any frame
+ * rate.
+ *
+ * If the ring had wrapped, replay starts at the oldest record kept.
+ * Must be used on the client thread.
+ */
+public final class InputReplayer {
+
+    private static final InputQueue.Action[] ACTIONS = InputQueue.Action.values();
+
+    private static final ModLogger logger = ModLogger.getInstance();
+
+    // Loaded records, in recording order
+    private static int[] ticks = new int[0];
+    private static byte[] types = new byte[0];
+    private static byte[] argsA = new byte[0];
+    private static short[] argsB = new short[0];
+    private static int[] argsC = new int[0];
+    private static int size = 0;
+
+    // Index of the next record to apply
+    private static int next = 0;
+
+    // Tick the recorded tick 0 maps to
+    private static long startTick = 0;
+
+    // Movement bits to apply on the next movement input (-1 for none)
+    private static int movementOverride = -1;
+
+    // Whether a replay is running
+    private static boolean replaying = false;
+
+    // Incremented by every start and stop, so a stale load is not started
+    private static int generation = 0;
+
+    /**
+     * Records of a recording file, in recording order.
+     */
+    private record Recording(int[] ticks, byte[] types, byte[] argsA, short[] argsB, int[] argsC,
+            boolean wrapped) {
+    }
+
+    private InputReplayer() {
+    }
+
+    /**
+     * Loads a recording on the {@link PersistenceService} writer thread and
+     * starts replaying it on the game thread once it is read. Stops an
+     * active recording first; its pending write is queued before the read,
+     * so a recording stopped here can be replayed right away.
+     *
+     * @param source    The recording file
+     * @param onStarted Receives the number of records to replay, or -1 if the
+     *                  file is invalid or the replay was superseded (game thread)
+     */
+    public static void start(File source, IntConsumer onStarted) {
+        stop();
+        InputRecorder.stop();
+
+        int request = ++generation;
+
+        PersistenceService.getInstance().submit(() -> {
+            Recording recording = read(source);
+
+            Minecraft.getInstance().execute(() -> {
+                // Stopped, restarted or a recording began while loading
+                if (request != generation || InputRecorder.isRecording()) {
+                    onStarted.accept(-1);
+                    return;
+                }
+
+                onStarted.accept(recording != null ? begin(recording, source) : -1);
+            });
+        });
+    }
+
+    /**
+     * Reads and unpacks a recording file. Runs on the writer thread.
+     *
+     * @param source The recording file
+     * @return The records in recording order, or null if the file is invalid
+     */
+    private static Recording read(File source) {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(source.toPath()));
+        } catch (IOException e) {
+            logger.error("Failed to read input recording: {}", e.getMessage());
+            return null;
+        }
+
+        if (buffer.remaining() < InputRecorder.HEADER_SIZE
+                || buffer.getInt(0) != InputRecorder.MAGIC
+                || buffer.getShort(4) != InputRecorder.VERSION
+                || buffer.getShort(6) != InputRecorder.RECORD_SIZE) {
+            logger.error("Invalid input recording: {}", source.getName());
+            return null;
+        }
+
+        int capacity = buffer.getInt(InputRecorder.CAPACITY_OFFSET);
+        long written = buffer.getLong(InputRecorder.WRITTEN_OFFSET);
+        if (capacity <= 0 || written < 0
+                || buffer.remaining() < InputRecorder.HEADER_SIZE + (long) capacity * InputRecorder.RECORD_SIZE) {
+            logger.error("Truncated input recording: {}", source.getName());
+            return null;
+        }
+
+        int count = (int) Math.min(written, capacity);
+        long first = written - count;
+
+        int[] ticks = new int[count];
+        byte[] types = new byte[count];
+        byte[] argsA = new byte[count];
+        short[] argsB = new short[count];
+        int[] argsC = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            int position = InputRecorder.HEADER_SIZE
+                    + (int) ((first + i) % capacity) * InputRecorder.RECORD_SIZE;
+
+            ticks[i] = buffer.getInt(position);
+            types[i] = buffer.get(position + 8);
+            argsA[i] = buffer.get(position + 9);
+            argsB[i] = buffer.getShort(position + 10);
+            argsC[i] = buffer.getInt(position + 12);
+        }
+
+        return new Recording(ticks, types, argsA, argsB, argsC, first > 0);
+    }
+
+    /**
+     * Installs loaded records and starts the replay.
+     *
+     * @return The number of records to replay
+     */
+    private static int begin(Recording recording, File source) {
+        ticks = recording.ticks();
+        types = recording.types();
+        argsA = recording.argsA();
+        argsB = recording.argsB();
+        argsC = recording.argsC();
+        size = ticks.length;
+        next = 0;
+        movementOverride = -1;
+
+        // A wrapped ring starts at its oldest record instead of waiting for it
+        startTick = AsyncUtil.getCurrentTick() - (recording.wrapped() && size > 0 ? ticks[0] : 0);
+        replaying = true;
+
+        logger.info("Replaying {} input records from {}", size, source.getName());
+        return size;
+    }
+
+    /**
+     * Stops the replay.
+     */
+    public static void stop() {
+        // Drops a replay that is still loading
+        generation++;
+
+        if (!replaying) {
+            return;
+        }
+
+        replaying = false;
+        movementOverride = -1;
+
+        logger.info("Input replay stopped after {} of {} records", next, size);
+    }
+
+    /**
+     * Checks whether a replay is running.
+     *
+     * @return true if replaying
+     */
+    public static boolean isReplaying() {
+        return replaying;
+    }
+
+    /**
+     * Gets the number of records applied so far.
+     *
+     * @return The applied record count
+     */
+    public static int getPosition() {
+        return next;
+    }
+
+    /**
+     * Gets the number of records in the loaded recording.
+     *
+     * @return The record count
+     */
+    public static int getSize() {
+        return size;
+    }
+
+    /**
+     * Applies the records due at the current tick.
+     * Called from the tick and frame hooks before the input queue is flushed.
+     */
+    public static void update() {
+        if (!replaying) {
+            return;
+        }
+
+        long tick = AsyncUtil.getCurrentTick() - startTick;
+
+        while (next < size && ticks[next] <= tick) {
+            apply(next++);
+        }
+
+        if (next >= size && movementOverride == -1) {
+            stop();
+        }
+    }
+
+    /**
+     * Takes the replayed movement bits for the current movement input.
+     *
+     * @return The movement bits, or -1 if the replay has none for this tick
+     */
+    public static int pollMovement() {
+        int bits = movementOverride;
+        movementOverride = -1;
+        return bits;
+    }
+
+    private static void apply(int index) {
+        switch (types[index]) {
+            case InputRecorder.TYPE_INPUT -> {
+                int action = argsA[index];
+                if (action >= 0 && action < ACTIONS.length) {
+                    InputQueue.submit(ACTIONS[action], argsB[index], argsC[index]);
+                }
+            }
+            case InputRecorder.TYPE_MOVEMENT -> movementOverride = argsB[index];
+            case InputRecorder.TYPE_SLOT -> {
+                Minecraft mc = Minecraft.getInstance();
+                int slot = argsA[index];
+                if (mc.player != null && slot >= 0 && slot < 9) {
+                    mc.player.getInventory().setSelectedSlot(slot);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
@@ -6,14 +6,18 @@ import net.minecraft.client.Minecraft;
 import com.mojang.blaze3d.platform.InputConstants;
 
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
-
-import java.lang.reflect.Field;
+import art.ameliah.fabric.autosprintfix.mixin.KeyMappingAccessor;
 
 /**
  * InteractionUtil - Utilities for player interactions.
  * Simulates key presses to trigger Minecraft's normal input handling pipeline.
  * Automatically checks if a screen is open and prevents interactions when UI is
  * displayed.
+ *
+ * Presses are queued in {@link InputQueue} and applied together with the
+ * requests of other modules at the next flush. Priorities only decide
+ * between opposite movement keys, so only {@link #moveKey(boolean, String, int, int)}
+ * takes one; all other presses use the default priority 0.
  */
 public class InteractionUtil {
 
@@ -31,34 +35,17 @@ public class InteractionUtil {
     }
 
     /**
-     * Gets the InputConstants.Key from a KeyMapping using reflection
+     * Gets the InputConstants.Key a KeyMapping is currently bound to.
+     *
+     * @param keyMapping The key mapping
+     * @return The bound key, or null if the mapping is null
      */
     public static InputConstants.Key getKeyFromKeyMapping(KeyMapping keyMapping) {
-        try {
-            // Try the direct field first
-            Field key = KeyMapping.class.getDeclaredField("key");
-            key.setAccessible(true);
-
-            return (InputConstants.Key) key.get(keyMapping);
-        } catch (NoSuchFieldException e) {
-            // Try alternative field names (obfuscated in some versions)
-            try {
-                for (Field field : KeyMapping.class.getDeclaredFields()) {
-                    if (InputConstants.Key.class.isAssignableFrom(field.getType())) {
-                        field.setAccessible(true);
-                        Object value = field.get(keyMapping);
-                        if (value instanceof InputConstants.Key) {
-                            return (InputConstants.Key) value;
-                        }
-                    }
-                }
-            } catch (Exception ignored) {
-            }
-
-            return null;
-        } catch (Exception e) {
+        if (keyMapping == null) {
             return null;
         }
+
+        return ((KeyMappingAccessor) keyMapping).getBoundKey();
     }
 
     /**
@@ -69,45 +56,11 @@ public class InteractionUtil {
      * 
      * @param checkScreen if true, prevents interaction when a screen is open
      * @param duration    the duration in ticks to hold the key
-     * @return true if attack key simulation was successful, false if screen is open
-     *         or error occurred
+     * @return true if the attack was queued, false if screen is open
+     *         or no player exists
      */
     public static boolean attack(boolean checkScreen, int duration) {
-        try {
-            // Check if screen is open - do not attack if UI is active and checkScreen is
-            // true
-            if (checkScreen && isScreenOpen()) {
-                return false;
-            }
-
-            Minecraft mc = Minecraft.getInstance();
-            if (mc == null || mc.player == null) {
-                return false;
-            }
-
-            // Simulate pressing and releasing the attack key
-            KeyMapping keyAttack = mc.options.keyAttack;
-            InputConstants.Key key = getKeyFromKeyMapping(keyAttack);
-
-            if (key != null) {
-                KeyMapping.set(key, true);
-                KeyMapping.click(key);
-
-                if (duration != 0) {
-                    AsyncUtil.delayTicks(duration, () -> {
-                        mc.execute(() -> KeyMapping.set(key, false));
-                    });
-                } else {
-                    KeyMapping.set(key, false);
-                }
-            }
-
-            return true;
-        } catch (Exception e) {
-            logger.error("Attack error: {}", e.getMessage());
-
-            return false;
-        }
+        return press(checkScreen, InputQueue.Action.ATTACK, duration, 0);
     }
 
     /**
@@ -116,45 +69,11 @@ public class InteractionUtil {
      * 
      * @param checkScreen if true, prevents interaction when a screen is open
      * @param duration    the duration in ticks to hold the key
-     * @return true if use key simulation was successful, false if screen is open or
-     *         error occurred
+     * @return true if the use was queued, false if screen is open or
+     *         no player exists
      */
     public static boolean use(boolean checkScreen, int duration) {
-        try {
-            // Check if screen is open
-            if (checkScreen && isScreenOpen()) {
-                return false;
-            }
-
-            Minecraft mc = Minecraft.getInstance();
-            if (mc == null || mc.player == null) {
-                return false;
-            }
-
-            // Simulate pressing and releasing the use key
-            KeyMapping keyUse = mc.options.keyUse;
-            InputConstants.Key key = getKeyFromKeyMapping(keyUse);
-
-            if (key != null) {
-                KeyMapping.set(key, true);
-                KeyMapping.click(key);
-
-                if (duration != 0) {
-                    AsyncUtil.delayTicks(duration, () -> {
-                        mc.execute(() -> KeyMapping.set(key, false));
-                    });
-                } else {
-                    KeyMapping.set(key, false);
-                }
-            }
-
-            return true;
-        } catch (
-
-        Exception e) {
-            logger.error("Use error: {}", e.getMessage());
-            return false;
-        }
+        return press(checkScreen, InputQueue.Action.USE, duration, 0);
     }
 
     /**
@@ -162,103 +81,57 @@ public class InteractionUtil {
      * 
      * @param checkScreen if true, prevents interaction when a screen is open
      * @param duration    the duration in ticks to hold the key
-     * @return true if jump key simulation was successful
+     * @return true if the jump was queued
      */
     public static boolean jump(boolean checkScreen, int duration) {
-        try {
-            // Check if screen is open
-            if (checkScreen && isScreenOpen()) {
-                return false;
-            }
-
-            Minecraft mc = Minecraft.getInstance();
-            if (mc == null || mc.player == null) {
-                return false;
-            }
-
-            // Get the jump key using reflection for consistency
-            KeyMapping keyJump = mc.options.keyJump;
-            InputConstants.Key key = getKeyFromKeyMapping(keyJump);
-
-            if (key != null) {
-                KeyMapping.set(key, true);
-                KeyMapping.click(key);
-
-                if (duration != 0) {
-                    AsyncUtil.delayTicks(duration, () -> {
-                        mc.execute(() -> KeyMapping.set(key, false));
-                    });
-                } else {
-                    KeyMapping.set(key, false);
-                }
-            }
-
-            return true;
-        } catch (Exception e) {
-            logger.error("Jump error: {}", e.getMessage());
-            return false;
-        }
+        return press(checkScreen, InputQueue.Action.JUMP, duration, 0);
     }
 
     /**
-     * Simulates pressing a movement key.
+     * Simulates pressing a movement key with default priority.
      * 
      * @param checkScreen if true, prevents interaction when a screen is open
      * @param keyType     the movement key type ("forward", "back", "left", "right")
      * @param duration    the duration in ticks to hold the key
-     * @return true if key simulation was successful
+     * @return true if the key press was queued
      */
     public static boolean moveKey(boolean checkScreen, String keyType, int duration) {
-        try {
-            // Check if screen is open
-            if (checkScreen && isScreenOpen()) {
-                return false;
-            }
+        return moveKey(checkScreen, keyType, duration, 0);
+    }
 
-            Minecraft mc = Minecraft.getInstance();
-            if (mc == null || mc.player == null) {
+    /**
+     * Simulates pressing a movement key.
+     * Of two opposite keys requested in the same batch, the one with the
+     * higher priority is applied.
+     * 
+     * @param checkScreen if true, prevents interaction when a screen is open
+     * @param keyType     the movement key type ("forward", "back", "left", "right")
+     * @param duration    the duration in ticks to hold the key
+     * @param priority    priority against the opposite key (higher wins)
+     * @return true if the key press was queued
+     */
+    public static boolean moveKey(boolean checkScreen, String keyType, int duration, int priority) {
+        InputQueue.Action action;
+
+        switch (keyType.toLowerCase()) {
+            case "forward":
+                action = InputQueue.Action.FORWARD;
+                break;
+            case "back":
+                action = InputQueue.Action.BACK;
+                break;
+            case "left":
+                action = InputQueue.Action.LEFT;
+                break;
+            case "right":
+                action = InputQueue.Action.RIGHT;
+                break;
+            default:
+                logger.error("MoveKey error: unknown key type {}", keyType);
                 return false;
-            }
-
-            KeyMapping keyMapping = null;
-
-            switch (keyType.toLowerCase()) {
-                case "forward":
-                    keyMapping = mc.options.keyUp;
-                    break;
-                case "back":
-                    keyMapping = mc.options.keyDown;
-                    break;
-                case "left":
-                    keyMapping = mc.options.keyLeft;
-                    break;
-                case "right":
-                    keyMapping = mc.options.keyRight;
-                    break;
-                default:
-                    return false;
-            }
-
-            InputConstants.Key key = getKeyFromKeyMapping(keyMapping);
-
-            if (key != null) {
-                KeyMapping.set(key, true);
-                KeyMapping.click(key);
-
-                if (duration != 0) {
-                    AsyncUtil.delayTicks(duration, () -> {
-                        mc.execute(() -> KeyMapping.set(key, false));
-                    });
-                } else {
-                    KeyMapping.set(key, false);
-                }
-            }
-
-            return true;
-        } catch (Exception e) {
-            logger.error("MoveKey error for {}: {}", keyType, e.getMessage());
-            return false;
         }
+
+        return press(checkScreen, action, duration, priority);
     }
 
     /**
@@ -266,42 +139,10 @@ public class InteractionUtil {
      * 
      * @param checkScreen if true, prevents interaction when a screen is open
      * @param duration    the duration in ticks to hold the key
-     * @return true if sneak key simulation was successful
+     * @return true if the sneak was queued
      */
     public static boolean sneak(boolean checkScreen, int duration) {
-        try {
-            // Check if screen is open
-            if (checkScreen && isScreenOpen()) {
-                return false;
-            }
-
-            Minecraft mc = Minecraft.getInstance();
-            if (mc == null || mc.player == null) {
-                return false;
-            }
-
-            // Get the sneak key using reflection
-            KeyMapping keySneak = mc.options.keyShift;
-            InputConstants.Key key = getKeyFromKeyMapping(keySneak);
-
-            if (key != null) {
-                KeyMapping.set(key, true);
-                KeyMapping.click(key);
-
-                if (duration != 0) {
-                    AsyncUtil.delayTicks(duration, () -> {
-                        mc.execute(() -> KeyMapping.set(key, false));
-                    });
-                } else {
-                    KeyMapping.set(key, false);
-                }
-            }
-
-            return true;
-        } catch (Exception e) {
-            logger.error("Sneak error: {}", e.getMessage());
-            return false;
-        }
+        return press(checkScreen, InputQueue.Action.SNEAK, duration, 0);
     }
 
     /**
@@ -309,41 +150,33 @@ public class InteractionUtil {
      * 
      * @param checkScreen if true, prevents interaction when a screen is open
      * @param duration    the duration in ticks to hold the key
-     * @return true if sprint key simulation was successful
+     * @return true if the sprint was queued
      */
     public static boolean sprint(boolean checkScreen, int duration) {
-        try {
-            // Check if screen is open
-            if (checkScreen && isScreenOpen()) {
-                return false;
-            }
-
-            Minecraft mc = Minecraft.getInstance();
-            if (mc == null || mc.player == null) {
-                return false;
-            }
-
-            // Get the sprint key using reflection
-            KeyMapping keySprint = mc.options.keySprint;
-            InputConstants.Key key = getKeyFromKeyMapping(keySprint);
-
-            if (key != null) {
-                KeyMapping.set(key, true);
-                KeyMapping.click(key);
+        return press(checkScreen, InputQueue.Action.SPRINT, duration, 0);
+    }
 
-                if (duration != 0) {
-                    AsyncUtil.delayTicks(duration, () -> {
-                        mc.execute(() -> KeyMapping.set(key, false));
-                    });
-                } else {
-                    KeyMapping.set(key, false);
-                }
-            }
+    /**
+     * Queues a key press.
+     *
+     * @param checkScreen if true, prevents interaction when a screen is open
+     * @param action      the key to press
+     * @param duration    the duration in ticks to hold the key
+     * @param priority    priority against conflicting requests (higher wins)
+     * @return true if the press was queued
+     */
+    private static boolean press(boolean checkScreen, InputQueue.Action action, int duration, int priority) {
+        // Do not interact while UI is active and checkScreen is true
+        if (checkScreen && isScreenOpen()) {
+            return false;
+        }
 
-            return true;
-        } catch (Exception e) {
-            logger.error("Sprint error: {}", e.getMessage());
+        Minecraft mc = Minecraft.getInstance();
+        if (mc == null || mc.player == null) {
             return false;
         }
+
+        InputQueue.submit(action, duration, priority);
+        return true;
     }
-}
\ No newline at end of file
+}
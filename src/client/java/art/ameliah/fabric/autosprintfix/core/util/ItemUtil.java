@@ -1,53 +1,173 @@
 package art.ameliah.fabric.autosprintfix.core.util;
 
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraft.world.item.enchantment.ItemEnchantments;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * ItemUtil - Utilities for item stack operations.
- * Supports matching by exact name, pattern, and wildcard.
+ *
+ * Enchantment levels are read from the stack's enchantments component
+ * and cached per stack as a vector indexed by enchantment registry id.
+ * A cached vector is reused while the stack (compared by identity) still
+ * holds the same component instance; components are immutable, so any
+ * enchantment change replaces it. The cache is cleared when the level
+ * (and with it the enchantment registry) changes. Must be used on the
+ * client thread.
  */
 public class ItemUtil {
+
+    // Levels of a stack without enchantments
+    private static final int[] NO_LEVELS = new int[0];
+
+    /**
+     * Enchantment levels of a stack.
+     */
+    private static final class CachedEnchantments {
+
+        // Component the levels were read from
+        private final ItemEnchantments source;
+
+        // Levels by enchantment registry id
+        private final int[] levels;
+
+        private CachedEnchantments(ItemEnchantments source, int[] levels) {
+            this.source = source;
+            this.levels = levels;
+        }
+    }
+
+    // Level the cached registry ids belong to
+    private static ClientLevel cachedLevel;
+
+    // Enchantment registry of the cached level
+    private static Registry<Enchantment> registry;
+
+    // Registry ids by enchantment key (-1 if not registered)
+    private static final Map<ResourceKey<Enchantment>, Integer> ids = new IdentityHashMap<>();
+
+    // Enchantment levels by stack (ItemStack uses identity equality)
+    private static final Map<ItemStack, CachedEnchantments> cache = new WeakHashMap<>();
+
     /**
      * Get the enchantment level of an item.
      * Returns 0 if the item doesn't have the enchantment.
-     * 
-     * @param stack       the item stack
-     * @param enchantment the enchantment (eg: "sharpness")
-     *                    "density")
+     *
+     * @param stack         the item stack
+     * @param enchantmentId the enchantment id (eg: "sharpness" or
+     *                      "minecraft:density")
      * @return the enchantment level, or 0 if not present
      */
     public static int getEnchantment(ItemStack stack, String enchantmentId) {
-        if (stack == null || stack.isEmpty()) {
+        Identifier id = Identifier.tryParse(enchantmentId);
+        if (id == null) {
+            return 0;
+        }
+
+        return getEnchantment(stack, ResourceKey.create(Registries.ENCHANTMENT, id));
+    }
+
+    /**
+     * Get the enchantment level of an item.
+     * Returns 0 if the item doesn't have the enchantment.
+     *
+     * @param stack       the item stack
+     * @param enchantment the enchantment key (eg: Enchantments.SHARPNESS)
+     * @return the enchantment level, or 0 if not present
+     */
+    public static int getEnchantment(ItemStack stack, ResourceKey<Enchantment> enchantment) {
+        if (stack == null || stack.isEmpty() || !updateRegistry()) {
+            return 0;
+        }
+
+        int id = getId(enchantment);
+        if (id < 0) {
             return 0;
         }
 
-        String enchants = stack.getEnchantments().toString();
+        int[] levels = getLevels(stack);
+        return id < levels.length ? levels[id] : 0;
+    }
+
+    /**
+     * Clears the cached registry ids and enchantment levels if the
+     * level has changed.
+     *
+     * @return true if an enchantment registry is available
+     */
+    private static boolean updateRegistry() {
+        ClientLevel level = Minecraft.getInstance().level;
+
+        if (level != cachedLevel) {
+            cachedLevel = level;
+            registry = level != null ? level.registryAccess().lookupOrThrow(Registries.ENCHANTMENT) : null;
+            ids.clear();
+            cache.clear();
+        }
+
+        return registry != null;
+    }
+
+    /**
+     * Gets the registry id of an enchantment.
+     *
+     * @param enchantment The enchantment key
+     * @return The registry id, or -1 if not registered
+     */
+    private static int getId(ResourceKey<Enchantment> enchantment) {
+        Integer id = ids.get(enchantment);
 
-        // Normalize input: "sharpness" → "minecraft:sharpness"
-        if (!enchantmentId.contains(":")) {
-            enchantmentId = "minecraft:" + enchantmentId;
+        if (id == null) {
+            Enchantment value = registry.getValue(enchantment);
+            id = value != null ? registry.getId(value) : -1;
+            ids.put(enchantment, id);
         }
 
-        String pattern = "Reference\\{ResourceKey\\[minecraft:enchantment\\s*/\\s*(minecraft:[^\\]]+)\\][^}]*}\\s*=>\\s*(\\d+)";
+        return id;
+    }
+
+    /**
+     * Gets the cached enchantment levels of a stack, reading them from
+     * its enchantments component if it has changed.
+     *
+     * @param stack The item stack
+     * @return Levels by enchantment registry id
+     */
+    private static int[] getLevels(ItemStack stack) {
+        ItemEnchantments enchantments = stack.getEnchantments();
+        CachedEnchantments cached = cache.get(stack);
 
-        java.util.regex.Pattern regex = java.util.regex.Pattern.compile(pattern);
-        java.util.regex.Matcher matcher = regex.matcher(enchants);
+        if (cached != null && cached.source == enchantments) {
+            return cached.levels;
+        }
 
-        while (matcher.find()) {
-            String key = matcher.group(1);
-            int level;
+        int[] levels = NO_LEVELS;
 
-            try {
-                level = Integer.parseInt(matcher.group(2));
-            } catch (NumberFormatException e) {
-                level = 0;
-            }
+        if (!enchantments.isEmpty()) {
+            levels = new int[registry.size()];
 
-            if (key.equals(enchantmentId)) {
-                return level;
+            for (Object2IntMap.Entry<Holder<Enchantment>> entry : enchantments.entrySet()) {
+                int id = registry.getId(entry.getKey().value());
+                if (id >= 0 && id < levels.length) {
+                    levels[id] = entry.getIntValue();
+                }
             }
         }
 
-        return 0;
+        cache.put(stack, new CachedEnchantments(enchantments, levels));
+        return levels;
     }
 }
@@ -0,0 +1,85 @@
+package art.ameliah.fabric.autosprintfix.core.util;
+
+import art.ameliah.fabric.autosprintfix.core.module.Module;
+import art.ameliah.fabric.autosprintfix.core.module.ModuleManager;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientWorldEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+
+/**
+ * Scheduler scopes tied to the client lifecycle.
+ *
+ * Tasks scheduled through a scope are cancelled and released when the
+ * scope ends, so they cannot fire into a later session or keep entities
+ * and inventories of an old world reachable:
+ *
+ * - {@link #session()} ends on disconnect and world change
+ * - {@link #screen()} ends whenever the screen changes
+ * - {@link Module#getScheduler()} ends when its module is disabled and
+ * with the session
+ *
+ * Tasks scheduled directly on {@link AsyncUtil} are not scoped.
+ */
+public final class SchedulerScope {
+
+    // Tasks of the current world session
+    private static final CancellationGroup session = new CancellationGroup("session");
+
+    // Tasks of the current screen
+    private static final CancellationGroup screen = new CancellationGroup("screen");
+
+    private SchedulerScope() {
+    }
+
+    /**
+     * Registers the lifecycle hooks that end the session scope.
+     * The screen scope is ended by the setScreen hook.
+     */
+    public static void register() {
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(SchedulerScope::endSession));
+        ClientWorldEvents.AFTER_CLIENT_WORLD_CHANGE.register((client, level) -> endSession());
+    }
+
+    /**
+     * Gets the scope of the current world session.
+     *
+     * @return The session scope
+     */
+    public static CancellationGroup session() {
+        return session;
+    }
+
+    /**
+     * Gets the scope of the current screen.
+     *
+     * @return The screen scope
+     */
+    public static CancellationGroup screen() {
+        return screen;
+    }
+
+    /**
+     * Cancels all session, screen and module scoped tasks, stops input
+     * recording and replay and releases keys held by simulated input.
+     */
+    public static void endSession() {
+        InputRecorder.stop();
+        InputReplayer.stop();
+
+        session.cancelAll();
+        screen.cancelAll();
+
+        for (Module module : ModuleManager.getInstance().getModules()) {
+            module.getScheduler().cancelAll();
+        }
+
+        InputQueue.clear();
+    }
+
+    /**
+     * Cancels all screen scoped tasks.
+     */
+    public static void endScreen() {
+        screen.cancelAll();
+    }
+}
@@ -0,0 +1,220 @@
+package art.ameliah.fabric.autosprintfix.core.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Live statistics of the {@link AsyncUtil} scheduler.
+ *
+ * Records how late tasks fire and how long they run, per owner (the
+ * name of the scope or module the task was scheduled through). Recording
+ * happens on the client thread while tasks run; read the statistics on
+ * the client thread as well.
+ */
+public final class SchedulerStats {
+
+    // Owner name of tasks scheduled directly on AsyncUtil
+    public static final String UNSCOPED = "unscoped";
+
+    /**
+     * Histogram of nanosecond durations in power-of-two buckets.
+     */
+    public static final class Histogram {
+
+        // Bucket i counts values below 2^i ns (bucket 0 counts zero)
+        private final long[] buckets = new long[64];
+
+        private long count = 0;
+        private long total = 0;
+        private long max = 0;
+
+        void record(long nanos) {
+            long value = Math.max(0, nanos);
+
+            buckets[64 - Long.numberOfLeadingZeros(value)]++;
+            count++;
+            total += value;
+            max = Math.max(max, value);
+        }
+
+        /**
+         * Gets the number of recorded values.
+         *
+         * @return The value count
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the mean of the recorded values.
+         *
+         * @return The mean in nanoseconds, 0 if empty
+         */
+        public long getMean() {
+            return count == 0 ? 0 : total / count;
+        }
+
+        /**
+         * Gets the largest recorded value.
+         *
+         * @return The maximum in nanoseconds
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Estimates a percentile as the upper bound of its bucket,
+         * capped at the maximum.
+         *
+         * @param percentile Percentile between 0 and 100
+         * @return The estimate in nanoseconds, 0 if empty
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+
+            long rank = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100.0);
+            long seen = 0;
+
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    long upper = i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+                    return Math.min(upper, max);
+                }
+            }
+
+            return max;
+        }
+
+        void reset() {
+            Arrays.fill(buckets, 0);
+            count = 0;
+            total = 0;
+            max = 0;
+        }
+    }
+
+    // Wall-clock lateness of tick tasks against 50 ms per tick
+    private final Histogram tickLateness = new Histogram();
+
+    // Lateness of deadline tasks against their deadline
+    private final Histogram deadlineLateness = new Histogram();
+
+    // Execution time per owner, sorted by name
+    private final Map<String, Histogram> executionTimes = new TreeMap<>();
+
+    // Tick tasks that fired after their requested tick, and by how much
+    private long lateTickTasks = 0;
+    private long maxLateTicks = 0;
+
+    // Start of the recording window
+    private long since = System.nanoTime();
+
+    SchedulerStats() {
+    }
+
+    void recordTick(long lateTicks, long lateNanos) {
+        if (lateTicks > 0) {
+            lateTickTasks++;
+            maxLateTicks = Math.max(maxLateTicks, lateTicks);
+        }
+        tickLateness.record(lateNanos);
+    }
+
+    void recordDeadline(long lateNanos) {
+        deadlineLateness.record(lateNanos);
+    }
+
+    void recordExecution(String owner, long nanos) {
+        executionTimes.computeIfAbsent(owner != null ? owner : UNSCOPED, key -> new Histogram()).record(nanos);
+    }
+
+    /**
+     * Gets the wall-clock lateness of tick tasks: the time they fired
+     * minus the time they were scheduled plus 50 ms per tick of delay.
+     * Accurate to within one tick; growth means the client ticks late.
+     *
+     * @return The lateness histogram
+     */
+    public Histogram getTickLateness() {
+        return tickLateness;
+    }
+
+    /**
+     * Gets the lateness of deadline tasks (deadline to the frame they ran on).
+     *
+     * @return The lateness histogram
+     */
+    public Histogram getDeadlineLateness() {
+        return deadlineLateness;
+    }
+
+    /**
+     * Gets the execution time histograms by owner.
+     *
+     * @return Histograms keyed by owner name
+     */
+    public Map<String, Histogram> getExecutionTimes() {
+        return executionTimes;
+    }
+
+    /**
+     * Gets the number of tick tasks that fired after their requested
+     * tick (tasks submitted from other threads wait for the next drain).
+     *
+     * @return The late task count
+     */
+    public long getLateTickTasks() {
+        return lateTickTasks;
+    }
+
+    /**
+     * Gets the largest fire tick minus requested tick.
+     *
+     * @return The maximum lateness in ticks
+     */
+    public long getMaxLateTicks() {
+        return maxLateTicks;
+    }
+
+    /**
+     * Gets the time since the statistics were last reset.
+     *
+     * @return The recording window in nanoseconds
+     */
+    public long getWindowNanos() {
+        return System.nanoTime() - since;
+    }
+
+    /**
+     * Formats a duration for display, in microseconds below one
+     * millisecond and in milliseconds above.
+     *
+     * @param nanos The duration in nanoseconds
+     * @return The formatted duration
+     */
+    public static String formatDuration(long nanos) {
+        if (nanos < 1_000_000L) {
+            return (nanos / 1_000L) + "\u00B5s";
+        }
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Clears all recorded statistics.
+     */
+    public void reset() {
+        tickLateness.reset();
+        deadlineLateness.reset();
+        executionTimes.clear();
+        lateTickTasks = 0;
+        maxLateTicks = 0;
+        since = System.nanoTime();
+    }
+}
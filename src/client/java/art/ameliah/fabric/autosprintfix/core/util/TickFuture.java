@@ -0,0 +1,295 @@
+package art.ameliah.fabric.autosprintfix.core.util;
+
+import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Sequence of delayed steps run on the {@link AsyncUtil} scheduler.
+ *
+ * Each step waits a number of ticks or frames after the previous one and
+ * then runs an action with the future's value. The future itself is the
+ * task handed to the scheduler, so a whole sequence is one object no
+ * matter how many steps it has, and actions can take their state from the
+ * value instead of capturing it.
+ *
+ * Cancelling a future stops the remaining steps and runs its cancel
+ * handlers. Futures started in a {@link CancellationGroup} can be
+ * cancelled together. Must be used on the client thread.
+ *
+ * @param <T> Type of the value passed to each step
+ */
+public final class TickFuture<T> implements Runnable {
+
+    // Step delay units
+    private static final byte TICKS = 0;
+    private static final byte FRAMES = 1;
+
+    // Value passed to every step
+    private final T value;
+
+    // Steps, stored in parallel arrays
+    private byte[] units = new byte[4];
+    private int[] delays = new int[4];
+    private Consumer<? super T>[] actions = newActionArray(4);
+    private int size = 0;
+
+    // Runs when the future is cancelled
+    private Consumer<? super T> cancelHandler;
+
+    // Index of the next step to run (-1 before start)
+    private int next = -1;
+
+    // Scheduled task of the next step
+    private AsyncUtil.Token token;
+
+    // Group this future belongs to
+    private CancellationGroup group;
+
+    // Owner name of the steps in scheduler statistics
+    private String owner;
+
+    // Lifecycle flags
+    private boolean done = false;
+    private boolean cancelled = false;
+
+    /**
+     * Creates a future carrying the given value.
+     *
+     * @param value The value passed to each step
+     */
+    private TickFuture(T value) {
+        this.value = value;
+    }
+
+    /**
+     * Creates an empty sequence carrying a value.
+     *
+     * @param value The value passed to each step
+     * @param <T>   Type of the value
+     * @return A new future
+     */
+    public static <T> TickFuture<T> of(T value) {
+        return new TickFuture<>(value);
+    }
+
+    /**
+     * Creates an empty sequence without a value.
+     *
+     * @return A new future
+     */
+    public static TickFuture<Void> create() {
+        return new TickFuture<>(null);
+    }
+
+    /**
+     * Adds a step that runs a number of ticks after the previous one.
+     * A delay of 0 runs it on the next tick.
+     *
+     * @param ticks  Ticks to wait
+     * @param action Action to run
+     * @return This future
+     */
+    public TickFuture<T> thenAfterTicks(int ticks, Consumer<? super T> action) {
+        return addStep(TICKS, ticks, action);
+    }
+
+    /**
+     * Adds a step that runs a number of frames after the previous one.
+     * A delay of 0 runs it on the next frame.
+     *
+     * @param frames Frames to wait
+     * @param action Action to run
+     * @return This future
+     */
+    public TickFuture<T> thenAfterFrames(int frames, Consumer<? super T> action) {
+        return addStep(FRAMES, frames, action);
+    }
+
+    /**
+     * Adds a step that runs on the frame after the previous one.
+     *
+     * @param action Action to run
+     * @return This future
+     */
+    public TickFuture<T> thenOnFrame(Consumer<? super T> action) {
+        return addStep(FRAMES, 0, action);
+    }
+
+    /**
+     * Adds a handler that runs if the future is cancelled before its
+     * last step has run.
+     *
+     * @param handler Handler to run
+     * @return This future
+     */
+    public TickFuture<T> whenCancelled(Consumer<? super T> handler) {
+        if (handler != null) {
+            Consumer<? super T> previous = cancelHandler;
+            cancelHandler = previous == null ? handler : combine(previous, handler);
+        }
+        return this;
+    }
+
+    /**
+     * Schedules the first step.
+     *
+     * @return This future
+     */
+    public TickFuture<T> start() {
+        if (next != -1) {
+            throw new IllegalStateException("TickFuture already started");
+        }
+
+        next = 0;
+        scheduleNext();
+        return this;
+    }
+
+    /**
+     * Adds this future to a group and schedules the first step.
+     *
+     * @param group Group that can cancel this future
+     * @return This future
+     */
+    public TickFuture<T> start(CancellationGroup group) {
+        this.group = group;
+        this.owner = group.getName();
+        group.add(this);
+        return start();
+    }
+
+    /**
+     * Cancels the remaining steps and runs the cancel handlers.
+     * Does nothing if the future has already finished or been cancelled.
+     */
+    public void cancel() {
+        if (done || cancelled) {
+            return;
+        }
+
+        cancelled = true;
+
+        if (token != null) {
+            token.cancel();
+            token = null;
+        }
+        leaveGroup();
+
+        if (cancelHandler != null) {
+            try {
+                cancelHandler.accept(value);
+            } catch (Exception e) {
+                ModLogger.getInstance().error("TickFuture cancel handler failed", e);
+            }
+        }
+    }
+
+    /**
+     * Checks whether all steps have run.
+     *
+     * @return True if done, otherwise false
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Checks whether the future has been cancelled.
+     *
+     * @return True if cancelled, otherwise false
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Checks whether the future has been started and has steps left.
+     *
+     * @return True if running, otherwise false
+     */
+    public boolean isRunning() {
+        return next != -1 && !done && !cancelled;
+    }
+
+    /**
+     * Runs the current step and schedules the next one.
+     * Called by the scheduler.
+     */
+    @Override
+    public void run() {
+        if (!isRunning()) {
+            return;
+        }
+
+        token = null;
+        Consumer<? super T> action = actions[next];
+        actions[next] = null;
+        next++;
+
+        try {
+            action.accept(value);
+        } catch (Exception e) {
+            ModLogger.getInstance().error("TickFuture step failed", e);
+            cancel();
+            return;
+        }
+
+        // The action may have cancelled the future
+        if (!cancelled) {
+            scheduleNext();
+        }
+    }
+
+    private TickFuture<T> addStep(byte unit, int delay, Consumer<? super T> action) {
+        if (next != -1) {
+            throw new IllegalStateException("Cannot add steps to a started TickFuture");
+        }
+
+        if (size == actions.length) {
+            int capacity = size * 2;
+            units = Arrays.copyOf(units, capacity);
+            delays = Arrays.copyOf(delays, capacity);
+            actions = Arrays.copyOf(actions, capacity);
+        }
+
+        units[size] = unit;
+        delays[size] = Math.max(0, delay);
+        actions[size] = action;
+        size++;
+        return this;
+    }
+
+    private void scheduleNext() {
+        if (next >= size) {
+            done = true;
+            leaveGroup();
+            return;
+        }
+
+        token = units[next] == TICKS
+                ? AsyncUtil.delayTicks(delays[next], this)
+                : AsyncUtil.delayFrames(delays[next], this);
+        token.owner = owner;
+    }
+
+    private void leaveGroup() {
+        if (group != null) {
+            group.remove(this);
+            group = null;
+        }
+    }
+
+    private static <T> Consumer<T> combine(Consumer<? super T> first, Consumer<? super T> second) {
+        return value -> {
+            first.accept(value);
+            second.accept(value);
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Consumer<? super T>[] newActionArray(int length) {
+        return (Consumer<? super T>[]) new Consumer[length];
+    }
+}
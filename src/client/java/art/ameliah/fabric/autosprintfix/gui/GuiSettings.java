@@ -1,21 +1,35 @@
 // src/main/java/art/ameliah/fabric/autosprintfix/gui/GuiSettings.java
 package art.ameliah.fabric.autosprintfix.gui;
 
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigReader;
+import art.ameliah.fabric.autosprintfix.config.BinaryConfigWriter;
+import art.ameliah.fabric.autosprintfix.config.ConfigWatcher;
+import art.ameliah.fabric.autosprintfix.config.PersistenceService;
+import art.ameliah.fabric.autosprintfix.config.PersistentStore;
 import art.ameliah.fabric.autosprintfix.core.logger.ModLogger;
 import art.ameliah.fabric.autosprintfix.core.module.Module;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.client.Minecraft;
 import org.lwjgl.glfw.GLFW;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Consumer;
 
 /**
  * Stores and manages GUI settings including keybinds and colors.
- * Settings are persisted to config/AutoSprintFix/gui.json.
+ * Settings are persisted to config/AutoSprintFix/gui.bin; gui.json is
+ * used for import/export and to migrate older configs. External changes
+ * to gui.bin are parsed off-thread and applied on the game thread.
  */
 public class GuiSettings {
 
@@ -25,11 +39,17 @@ public class GuiSettings {
     // Logger reference
     private final ModLogger logger;
 
-    // Config file
-    private final File configFile;
+    // Shared persistence engine
+    private final PersistenceService persistence;
 
-    // Gson for serialization
-    private final Gson gson;
+    // Store writing the binary settings file
+    private final PersistentStore store;
+
+    // Binary settings file
+    private final File binaryFile;
+
+    // JSON settings file (import/export and legacy config)
+    private final File jsonFile;
 
     // === Keybind Settings ===
     private int guiOpenKey = GLFW.GLFW_KEY_RIGHT_SHIFT;
@@ -44,6 +64,19 @@ public class GuiSettings {
     private int customSidebar = 0xFF141414;
     private int customToggleOn = 0xFF66BB6A;
 
+    /**
+     * Values read from a settings file. Absent values are null.
+     */
+    private static class Values {
+        Integer guiOpenKey;
+        ColorTheme theme;
+        Integer customAccent;
+        Integer customAccentDark;
+        Integer customBackground;
+        Integer customSidebar;
+        Integer customToggleOn;
+    }
+
     /**
      * Available color themes.
      */
@@ -85,22 +118,34 @@ public class GuiSettings {
      */
     private GuiSettings() {
         this.logger = ModLogger.getInstance();
-        this.gson = new GsonBuilder().setPrettyPrinting().create();
 
-        // Get config directory: config/AutoSprintFix/
-        File gameDir = new File(System.getProperty("user.dir"));
-        File baseConfigDir = new File(gameDir, "config");
-        File modConfigDir = new File(baseConfigDir, "AutoSprintFix");
+        this.persistence = PersistenceService.getInstance();
 
-        // Ensure directory exists
-        if (!modConfigDir.exists()) {
-            modConfigDir.mkdirs();
-        }
+        File modConfigDir = persistence.getConfigDir().toFile();
 
-        this.configFile = new File(modConfigDir, "gui.json");
+        this.binaryFile = new File(modConfigDir, "gui.bin");
+        this.jsonFile = new File(modConfigDir, "gui.json");
+
+        this.store = new PersistentStore() {
+            @Override
+            public Path getPath() {
+                return binaryFile.toPath();
+            }
+
+            @Override
+            public byte[] capture() {
+                return encode();
+            }
+        };
+        persistence.register(store);
 
         // Load settings
         load();
+
+        // Pick up external edits (gui.json is only an import/migration source)
+        ConfigWatcher.getInstance().watch(modConfigDir.toPath(),
+                name -> name.equals(binaryFile.getName()),
+                this::onFileChanged);
     }
 
     /**
@@ -117,79 +162,284 @@ public class GuiSettings {
 
     /**
      * Loads settings from file.
+     * Migrates gui.json when no binary file exists and retires it to
+     * gui.json.bak once gui.bin is written. A damaged gui.bin never falls
+     * back to gui.json, which would revert the settings.
      */
     public void load() {
-        if (!configFile.exists()) {
+        if (binaryFile.exists()) {
+            try {
+                apply(readBinary(BinaryConfigReader.open(binaryFile.toPath())));
+                logger.debug("GUI settings loaded successfully");
+            } catch (IOException | IllegalStateException | NumberFormatException e) {
+                logger.error("Failed to load GUI settings, using defaults", e);
+            }
+
+            // Left over from a migration that kept it
+            if (jsonFile.exists()) {
+                persistence.submit(this::backUpJson);
+            }
+            return;
+        }
+
+        if (!jsonFile.exists()) {
             logger.debug("GUI settings file not found, using defaults");
             return;
         }
 
-        try (FileReader reader = new FileReader(configFile)) {
-            @SuppressWarnings("null")
-            JsonObject json = gson.fromJson(reader, JsonObject.class);
+        // importJson blocks until gui.bin is written
+        if (importJson(jsonFile)) {
+            logger.debug("GUI settings loaded successfully");
+            persistence.submit(this::backUpJson);
+        }
+    }
 
-            // Gson can return null for empty/invalid JSON
-            if (json == null || json.isEmpty() || json.isJsonNull()) {
-                logger.warn("GUI settings file is empty or invalid");
-                return;
-            }
+    /**
+     * Renames gui.json to gui.json.bak once gui.bin holds the settings.
+     * Runs on the writer thread.
+     */
+    private void backUpJson() {
+        try {
+            Files.move(jsonFile.toPath(), jsonFile.toPath().resolveSibling("gui.json.bak"),
+                    StandardCopyOption.REPLACE_EXISTING);
+            logger.info("Retired gui.json after migrating to gui.bin");
+        } catch (NoSuchFileException e) {
+            // Already retired
+        } catch (IOException e) {
+            logger.warn("Failed to back up gui.json after migration");
+        }
+    }
 
-            if (json.has("guiOpenKey")) {
-                guiOpenKey = json.get("guiOpenKey").getAsInt();
-            }
+    /**
+     * Saves settings to file and waits for the write.
+     */
+    public void save() {
+        persistence.flush(store);
+    }
 
-            if (json.has("colorTheme")) {
-                try {
-                    currentTheme = ColorTheme.valueOf(json.get("colorTheme").getAsString());
-                } catch (IllegalArgumentException e) {
-                    currentTheme = ColorTheme.PURPLE;
-                }
-            }
+    /**
+     * Schedules a background save.
+     */
+    private void markDirty() {
+        persistence.markDirty(store);
+    }
 
-            if (json.has("customAccent")) {
-                customAccent = json.get("customAccent").getAsInt();
-            }
-            if (json.has("customAccentDark")) {
-                customAccentDark = json.get("customAccentDark").getAsInt();
-            }
-            if (json.has("customBackground")) {
-                customBackground = json.get("customBackground").getAsInt();
-            }
-            if (json.has("customSidebar")) {
-                customSidebar = json.get("customSidebar").getAsInt();
-            }
-            if (json.has("customToggleOn")) {
-                customToggleOn = json.get("customToggleOn").getAsInt();
-            }
+    /**
+     * Encodes the settings as the binary body (varint count, then name
+     * symbol and tagged value per entry).
+     */
+    private byte[] encode() {
+        BinaryConfigWriter out = new BinaryConfigWriter();
+
+        out.writeVarInt(7);
+        out.writeSymbol("guiOpenKey");
+        out.writeValue(guiOpenKey);
+        out.writeSymbol("colorTheme");
+        out.writeValue(currentTheme.name());
+        out.writeSymbol("customAccent");
+        out.writeValue(customAccent);
+        out.writeSymbol("customAccentDark");
+        out.writeValue(customAccentDark);
+        out.writeSymbol("customBackground");
+        out.writeValue(customBackground);
+        out.writeSymbol("customSidebar");
+        out.writeValue(customSidebar);
+        out.writeSymbol("customToggleOn");
+        out.writeValue(customToggleOn);
+
+        return out.toByteArray();
+    }
 
-            logger.debug("GUI settings loaded successfully");
+    /**
+     * Exports settings as human-readable JSON.
+     * The file is written on the persistence writer thread.
+     *
+     * @param file   The file to write
+     * @param onDone Receives true if the export was written (game thread)
+     */
+    public void exportJson(File file, Consumer<Boolean> onDone) {
+        StringWriter out = new StringWriter();
+
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.setIndent("  ");
+            writer.beginObject();
+
+            writer.name("guiOpenKey").value(guiOpenKey);
+            writer.name("colorTheme").value(currentTheme.name());
+            writer.name("customAccent").value(customAccent);
+            writer.name("customAccentDark").value(customAccentDark);
+            writer.name("customBackground").value(customBackground);
+            writer.name("customSidebar").value(customSidebar);
+            writer.name("customToggleOn").value(customToggleOn);
+
+            writer.endObject();
+            writer.flush();
 
         } catch (IOException e) {
+            logger.error("Failed to export GUI settings", e);
+            onDone.accept(false);
+            return;
+        }
+
+        persistence.writeAsync(file.toPath(), out.toString().getBytes(StandardCharsets.UTF_8), onDone);
+    }
+
+    /**
+     * Imports settings from JSON and saves them.
+     *
+     * @param file The file to read
+     * @return true if the file was imported
+     */
+    public boolean importJson(File file) {
+        if (!file.exists()) {
+            return false;
+        }
+
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))) {
+            apply(readJson(reader));
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
             logger.error("Failed to load GUI settings", e);
+            return false;
         }
+
+        save();
+        return true;
     }
 
     /**
-     * Saves settings to file.
+     * Parses an externally changed settings file (watcher thread) and
+     * applies the changed values on the game thread without saving.
      */
-    public void save() {
-        try (FileWriter writer = new FileWriter(configFile)) {
-            JsonObject json = new JsonObject();
+    private void onFileChanged(Path file, byte[] content) {
+        Values values;
 
-            json.addProperty("guiOpenKey", guiOpenKey);
-            json.addProperty("colorTheme", currentTheme.name());
-            json.addProperty("customAccent", customAccent);
-            json.addProperty("customAccentDark", customAccentDark);
-            json.addProperty("customBackground", customBackground);
-            json.addProperty("customSidebar", customSidebar);
-            json.addProperty("customToggleOn", customToggleOn);
+        try {
+            values = readBinary(new BinaryConfigReader(ByteBuffer.wrap(content)));
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            logger.warn("Ignoring unreadable GUI settings change");
+            return;
+        }
 
-            gson.toJson(json, writer);
+        Minecraft.getInstance().execute(() -> {
+            if (apply(values)) {
+                logger.info("Reloaded GUI settings from {}", file.getFileName());
+            }
+        });
+    }
 
-            logger.debug("GUI settings saved successfully");
+    /**
+     * Applies the values that differ from the current settings.
+     *
+     * @return true if anything changed
+     */
+    private boolean apply(Values values) {
+        boolean changed = false;
 
-        } catch (IOException e) {
-            logger.error("Failed to save GUI settings", e);
+        if (values.guiOpenKey != null && values.guiOpenKey != guiOpenKey) {
+            guiOpenKey = values.guiOpenKey;
+            changed = true;
+        }
+        if (values.theme != null && values.theme != currentTheme) {
+            currentTheme = values.theme;
+            changed = true;
+        }
+        if (values.customAccent != null && values.customAccent != customAccent) {
+            customAccent = values.customAccent;
+            changed = true;
+        }
+        if (values.customAccentDark != null && values.customAccentDark != customAccentDark) {
+            customAccentDark = values.customAccentDark;
+            changed = true;
+        }
+        if (values.customBackground != null && values.customBackground != customBackground) {
+            customBackground = values.customBackground;
+            changed = true;
+        }
+        if (values.customSidebar != null && values.customSidebar != customSidebar) {
+            customSidebar = values.customSidebar;
+            changed = true;
+        }
+        if (values.customToggleOn != null && values.customToggleOn != customToggleOn) {
+            customToggleOn = values.customToggleOn;
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Reads the binary settings body (varint count, then name symbol and
+     * tagged value per entry). Unknown entries are skipped.
+     */
+    private static Values readBinary(BinaryConfigReader in) throws IOException {
+        Values values = new Values();
+        int count = in.readVarInt();
+
+        for (int i = 0; i < count; i++) {
+            String name = in.readSymbol();
+            int tag = in.readTag();
+
+            if (tag == BinaryConfigWriter.TAG_STRING && name.equals("colorTheme")) {
+                values.theme = parseTheme(in.readString());
+                continue;
+            }
+
+            if (tag != BinaryConfigWriter.TAG_INT) {
+                in.skipValue(tag);
+                continue;
+            }
+
+            int value = in.readZigZag();
+            switch (name) {
+                case "guiOpenKey" -> values.guiOpenKey = value;
+                case "customAccent" -> values.customAccent = value;
+                case "customAccentDark" -> values.customAccentDark = value;
+                case "customBackground" -> values.customBackground = value;
+                case "customSidebar" -> values.customSidebar = value;
+                case "customToggleOn" -> values.customToggleOn = value;
+                default -> {
+                }
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Streams settings from a JSON document.
+     */
+    private static Values readJson(JsonReader reader) throws IOException {
+        Values values = new Values();
+
+        // Empty or non-object files are treated as invalid
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new IOException("GUI settings file is empty or invalid");
+        }
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "guiOpenKey" -> values.guiOpenKey = reader.nextInt();
+                case "colorTheme" -> values.theme = parseTheme(reader.nextString());
+                case "customAccent" -> values.customAccent = reader.nextInt();
+                case "customAccentDark" -> values.customAccentDark = reader.nextInt();
+                case "customBackground" -> values.customBackground = reader.nextInt();
+                case "customSidebar" -> values.customSidebar = reader.nextInt();
+                case "customToggleOn" -> values.customToggleOn = reader.nextInt();
+                default -> reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return values;
+    }
+
+    private static ColorTheme parseTheme(String name) {
+        try {
+            return ColorTheme.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return ColorTheme.PURPLE;
         }
     }
 
@@ -199,7 +449,7 @@ public class GuiSettings {
 
     public void setGuiOpenKey(int key) {
         this.guiOpenKey = key;
-        save();
+        markDirty();
     }
 
     public String getGuiOpenKeyName() {
@@ -212,21 +462,21 @@ public class GuiSettings {
 
     public void setCurrentTheme(ColorTheme theme) {
         this.currentTheme = theme;
-        save();
+        markDirty();
     }
 
     public void nextTheme() {
         ColorTheme[] themes = ColorTheme.values();
         int nextIndex = (currentTheme.ordinal() + 1) % themes.length;
         currentTheme = themes[nextIndex];
-        save();
+        markDirty();
     }
 
     public void previousTheme() {
         ColorTheme[] themes = ColorTheme.values();
         int prevIndex = (currentTheme.ordinal() - 1 + themes.length) % themes.length;
         currentTheme = themes[prevIndex];
-        save();
+        markDirty();
     }
 
     public int getAccent() {
@@ -251,27 +501,27 @@ public class GuiSettings {
 
     public void setCustomAccent(int color) {
         this.customAccent = color;
-        save();
+        markDirty();
     }
 
     public void setCustomAccentDark(int color) {
         this.customAccentDark = color;
-        save();
+        markDirty();
     }
 
     public void setCustomBackground(int color) {
         this.customBackground = color;
-        save();
+        markDirty();
     }
 
     public void setCustomSidebar(int color) {
         this.customSidebar = color;
-        save();
+        markDirty();
     }
 
     public void setCustomToggleOn(int color) {
         this.customToggleOn = color;
-        save();
+        markDirty();
     }
 
     public int getCustomAccent() {
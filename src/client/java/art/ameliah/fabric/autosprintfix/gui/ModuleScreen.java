@@ -5,10 +5,12 @@ import art.ameliah.fabric.autosprintfix.core.module.Module;
 import art.ameliah.fabric.autosprintfix.core.module.ModuleCategory;
 import art.ameliah.fabric.autosprintfix.core.module.ModuleManager;
 import art.ameliah.fabric.autosprintfix.core.module.settings.BooleanSetting;
+import art.ameliah.fabric.autosprintfix.core.module.settings.EnumSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.ModeSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.NumberSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.RangeSetting;
 import art.ameliah.fabric.autosprintfix.core.module.settings.Setting;
+import art.ameliah.fabric.autosprintfix.core.module.settings.SettingChangeBatch;
 import art.ameliah.fabric.autosprintfix.core.module.settings.StringSetting;
 import art.ameliah.fabric.autosprintfix.gui.util.ColorUtils;
 import art.ameliah.fabric.autosprintfix.gui.util.RenderUtils;
@@ -817,7 +819,9 @@ public class ModuleScreen extends Screen {
             if (setting instanceof BooleanSetting boolSetting) {
                 renderBooleanControl(graphics, boolSetting, controlX + 30, controlY);
             } else if (setting instanceof ModeSetting modeSetting) {
-                renderModeControl(graphics, modeSetting, controlX - 20, controlY, 90);
+                renderModeControl(graphics, modeSetting.getValue(), controlX - 20, controlY, 90);
+            } else if (setting instanceof EnumSetting<?> enumSetting) {
+                renderModeControl(graphics, enumSetting.getDisplayValue(), controlX - 20, controlY, 90);
             } else if (setting instanceof NumberSetting numSetting) {
                 renderNumberControl(graphics, numSetting, controlX - 20, controlY, 90);
             } else if (setting instanceof RangeSetting rangeSetting) {
@@ -870,7 +874,7 @@ public class ModuleScreen extends Screen {
         int width = 36;
         int height = 16;
 
-        boolean enabled = setting.getValue();
+        boolean enabled = setting.getBoolean();
         int bgColor = enabled ? getSettings().getToggleOn() : ColorUtils.TOGGLE_OFF;
         RenderUtils.fillRounded(graphics, x, y, width, height, height / 2, bgColor);
 
@@ -882,14 +886,13 @@ public class ModuleScreen extends Screen {
     /**
      * Renders a mode selector control.
      */
-    private void renderModeControl(GuiGraphics graphics, ModeSetting setting, int x, int y, int width) {
+    private void renderModeControl(GuiGraphics graphics, String modeText, int x, int y, int width) {
         int height = 16;
 
         RenderUtils.fillRounded(graphics, x, y, width, height, 3,
                 ColorUtils.adjustBrightness(ColorUtils.CARD_BG, 0.7f));
         RenderUtils.drawRect(graphics, x, y, width, height, ColorUtils.CARD_BORDER, 1);
 
-        String modeText = setting.getValue();
         // Use intelligent truncation that preserves more content
         String truncatedMode = RenderUtils.truncateString(modeText, width - 8); // Leave padding
         RenderUtils.drawCenteredString(graphics, truncatedMode, x + width / 2, y + 4, ColorUtils.TEXT_PRIMARY);
@@ -1250,12 +1253,20 @@ public class ModuleScreen extends Screen {
                             modeSetting.cycle();
                             return true;
                         }
+                    } else if (setting instanceof EnumSetting<?> enumSetting) {
+                        if (mouseX >= controlX - 20 && mouseX < controlX + 70 && mouseY >= controlY
+                                && mouseY < controlY + 16) {
+                            enumSetting.cycle();
+                            return true;
+                        }
                     } else if (setting instanceof NumberSetting numSetting) {
                         int sliderX = controlX - 20;
                         int sliderWidth = 60;
                         if (mouseX >= sliderX && mouseX < sliderX + sliderWidth && mouseY >= controlY
                                 && mouseY < controlY + 16) {
                             double progress = (double) (mouseX - sliderX) / sliderWidth;
+                            // Deliver the whole drag as one change
+                            SettingChangeBatch.begin();
                             numSetting.setFromProgress(progress);
                             draggingSetting = numSetting;
                             return true;
@@ -1274,10 +1285,26 @@ public class ModuleScreen extends Screen {
 
     @Override
     public boolean mouseReleased(@NonNull MouseButtonEvent mouseButtonEvent) {
-        draggingSetting = null;
+        endDrag();
         return super.mouseReleased(mouseButtonEvent);
     }
 
+    @Override
+    public void removed() {
+        endDrag();
+        super.removed();
+    }
+
+    /**
+     * Ends a slider drag and delivers its setting changes.
+     */
+    private void endDrag() {
+        if (draggingSetting != null) {
+            draggingSetting = null;
+            SettingChangeBatch.end();
+        }
+    }
+
     @Override
     public boolean mouseDragged(@NonNull MouseButtonEvent mouseButtonEvent, double deltaX, double deltaY) {
         if (draggingSetting instanceof NumberSetting numSetting) {
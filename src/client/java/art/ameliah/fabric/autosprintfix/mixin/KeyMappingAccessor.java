@@ -0,0 +1,26 @@
+package art.ameliah.fabric.autosprintfix.mixin;
+
+import com.mojang.blaze3d.platform.InputConstants;
+
+import net.minecraft.client.KeyMapping;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Accessor for {@link KeyMapping}.
+ *
+ * Exposes the currently bound key, which vanilla keeps private.
+ * Reads the live field, so rebinds are visible immediately.
+ */
+@Mixin(KeyMapping.class)
+public interface KeyMappingAccessor {
+
+    /**
+     * Gets the key this mapping is bound to.
+     *
+     * @return The bound key
+     */
+    @Accessor("key")
+    InputConstants.Key getBoundKey();
+}
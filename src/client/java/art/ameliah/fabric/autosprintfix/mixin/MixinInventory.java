@@ -0,0 +1,49 @@
+package art.ameliah.fabric.autosprintfix.mixin;
+
+import art.ameliah.fabric.autosprintfix.core.util.InputRecorder;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Mixin;
+
+/**
+ * Mixin for {@link Inventory}.
+ *
+ * Injects into hotbar slot selection to record slot changes
+ * of the local player.
+ */
+@Mixin(Inventory.class)
+public abstract class MixinInventory {
+
+    /**
+     * Shadowed owner of the inventory.
+     */
+    @Shadow
+    @Final
+    public Player player;
+
+    @Shadow
+    public abstract int getSelectedSlot();
+
+    /**
+     * Injects at the start of the setSelectedSlot method.
+     *
+     * Records the new slot if it differs from the selected one.
+     *
+     * @param slot         The slot being selected
+     * @param callbackInfo Callback information provided by Mixin
+     */
+    @Inject(method = "setSelectedSlot", at = @At("HEAD"))
+    private void hookSetSelectedSlot(int slot, CallbackInfo callbackInfo) {
+        if (InputRecorder.isRecording() && player == Minecraft.getInstance().player && slot != getSelectedSlot()) {
+            InputRecorder.recordSlot(slot);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package art.ameliah.fabric.autosprintfix.mixin;
 import art.ameliah.fabric.autosprintfix.core.event.events.MovementInputEvent;
 import art.ameliah.fabric.autosprintfix.core.misc.DirectionalInput;
 import art.ameliah.fabric.autosprintfix.core.event.EventBus;
+import art.ameliah.fabric.autosprintfix.core.util.InputRecorder;
+import art.ameliah.fabric.autosprintfix.core.util.InputReplayer;
 
 import net.minecraft.client.player.KeyboardInput;
 import net.minecraft.world.entity.player.Input;
@@ -27,7 +29,8 @@ public class MixinKeyboardInput {
      * 
      * Fires a {@link MovementInputEvent}, allowing modules to alter
      * directional and action-based movement flags before returning
-     * a new modified {@link Input} instance.
+     * a new modified {@link Input} instance. Module changes are
+     * recorded, and a running input replay overrides the result.
      *
      * @param original The originally constructed Input instance
      * @return A possibly modified Input instance
@@ -45,6 +48,26 @@ public class MixinKeyboardInput {
 
         DirectionalInput directionalInput = event.directionalInput;
 
+        if (InputRecorder.isRecording()) {
+            InputRecorder.recordMovement(
+                    InputRecorder.movementBits(original.forward(), original.backward(), original.left(),
+                            original.right(), original.jump(), original.shift()),
+                    InputRecorder.movementBits(event.forwards, event.backwards, directionalInput.left,
+                            directionalInput.right, event.jump, event.shift));
+        }
+
+        int replayed = InputReplayer.pollMovement();
+        if (replayed != -1) {
+            return new Input(
+                    (replayed & InputRecorder.MOVE_FORWARD) != 0,
+                    (replayed & InputRecorder.MOVE_BACKWARD) != 0,
+                    (replayed & InputRecorder.MOVE_LEFT) != 0,
+                    (replayed & InputRecorder.MOVE_RIGHT) != 0,
+                    (replayed & InputRecorder.MOVE_JUMP) != 0,
+                    (replayed & InputRecorder.MOVE_SHIFT) != 0,
+                    original.sprint());
+        }
+
         return new Input(
                 event.forwards,
                 event.backwards,
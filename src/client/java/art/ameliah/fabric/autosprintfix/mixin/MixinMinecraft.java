@@ -5,8 +5,12 @@ import art.ameliah.fabric.autosprintfix.core.event.events.TickEvent;
 import art.ameliah.fabric.autosprintfix.core.event.events.UseCooldownEvent;
 import art.ameliah.fabric.autosprintfix.core.event.EventBus;
 import art.ameliah.fabric.autosprintfix.core.util.AsyncUtil;
+import art.ameliah.fabric.autosprintfix.core.util.InputQueue;
+import art.ameliah.fabric.autosprintfix.core.util.InputReplayer;
+import art.ameliah.fabric.autosprintfix.core.util.SchedulerScope;
 
 import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.screens.Screen;
 
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.Inject;
@@ -33,29 +37,53 @@ public class MixinMinecraft {
     /**
      * Injects at the start of the tick method.
      *
-     * Updates asynchronous utilities and dispatches
-     * a {@link TickEvent} to registered modules.
+     * Updates asynchronous utilities, dispatches a {@link TickEvent}
+     * to registered modules and applies the queued key presses
+     * (including replayed input) before vanilla handles key bindings.
      *
      * @param callbackInfo Callback information provided by Mixin
      */
     @Inject(method = "tick", at = @At("HEAD"))
     private void hookTickEvent(CallbackInfo callbackInfo) {
         AsyncUtil.tick();
+        InputReplayer.update();
 
         EventBus.getInstance().post(new TickEvent());
+
+        InputQueue.flush();
     }
 
     /**
      * Injects at the start of the runTick method.
      *
-     * Dispatches a {@link GameRenderTaskQueueEvent} to allow
-     * modules to react to render task processing.
+     * Runs due frame and deadline tasks, then dispatches a
+     * {@link GameRenderTaskQueueEvent} to allow modules to
+     * react to render task processing, and applies the
+     * queued key presses (including replayed input).
      *
      * @param callbackInfo Callback information provided by Mixin
      */
     @Inject(method = "runTick", at = @At("HEAD"))
     private void hookGameRenderTaskQueueEvent(CallbackInfo callbackInfo) {
+        AsyncUtil.frame();
+        InputReplayer.update();
+
         EventBus.getInstance().post(new GameRenderTaskQueueEvent());
+
+        InputQueue.flush();
+    }
+
+    /**
+     * Injects at the start of the setScreen method.
+     *
+     * Ends the screen scheduler scope of the screen being replaced.
+     *
+     * @param screen       The new screen (null to close)
+     * @param callbackInfo Callback information provided by Mixin
+     */
+    @Inject(method = "setScreen", at = @At("HEAD"))
+    private void hookSetScreen(Screen screen, CallbackInfo callbackInfo) {
+        SchedulerScope.endScreen();
     }
 
     /**
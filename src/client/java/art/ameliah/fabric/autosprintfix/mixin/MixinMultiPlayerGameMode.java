@@ -2,6 +2,7 @@ package art.ameliah.fabric.autosprintfix.mixin;
 
 import art.ameliah.fabric.autosprintfix.core.event.EventBus;
 import art.ameliah.fabric.autosprintfix.core.event.events.AttackEntityEvent;
+import art.ameliah.fabric.autosprintfix.core.util.InputQueue;
 import net.minecraft.client.multiplayer.MultiPlayerGameMode;
 
 import net.minecraft.world.entity.player.Player;
@@ -25,7 +26,8 @@ public class MixinMultiPlayerGameMode {
      * Injects at the start of the attack method.
      *
      * Dispatches an {@link AttackEntityEvent} to allow
-     * modules to react to entity attacks.
+     * modules to react to entity attacks, then applies their
+     * queued key presses so vanilla handles them this tick.
      *
      * @param player The attacking player
      * @param target The entity being attacked
@@ -36,6 +38,8 @@ public class MixinMultiPlayerGameMode {
         AttackEntityEvent event = new AttackEntityEvent(target);
         EventBus.getInstance().post(event);
 
+        InputQueue.flush();
+
         // Cancel original input if event is cancelled
         if (event.isCancelled()) {
             ci.cancel();